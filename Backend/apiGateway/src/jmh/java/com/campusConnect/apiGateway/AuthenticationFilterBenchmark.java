@@ -0,0 +1,110 @@
+package com.campusConnect.apiGateway;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.campusConnect.apiGateway.filters.AuthenticationFilter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthenticationFilter end to end against a chain that completes immediately. With one token every request is
+ * a claims-cache hit; with more tokens than jwt.cache.maxSize most requests verify the signature again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final String SECRET = "campusConnect-benchmark-secret-key-long-enough-for-hs256";
+    private static final long CACHE_MAX_SIZE = 10_000;
+
+    @Param({"1", "50000"})
+    private int tokenCount;
+
+    private JwtService jwtService;
+    private GatewayFilter filter;
+    private String[] authorizationHeaders;
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    // shared like the server's own, so the benchmark does not measure building codecs per request
+    private final DefaultWebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final AcceptHeaderLocaleContextResolver localeResolver = new AcceptHeaderLocaleContextResolver();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // outside Spring Boot logback defaults to DEBUG; measure at the level the service runs with
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "keyId", "primary");
+        ReflectionTestUtils.setField(jwtService, "previousKeys", "");
+        ReflectionTestUtils.setField(jwtService, "legacyKeyId", "");
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", CACHE_MAX_SIZE);
+        jwtService.init();
+
+        // never polled here, so the lookup always runs against an empty set
+        RevokedSessionRegistry revokedSessionRegistry = new RevokedSessionRegistry(WebClient.builder(), "http://localhost");
+        filter = new AuthenticationFilter(jwtService, revokedSessionRegistry, new SimpleMeterRegistry()).apply(new AuthenticationFilter.Config());
+
+        authorizationHeaders = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            authorizationHeaders[i] = "Bearer " + token(i);
+        }
+    }
+
+    @Benchmark
+    public Void filter(Cursor cursor) {
+        String authorization = authorizationHeaders[cursor.next++ % authorizationHeaders.length];
+        DefaultServerWebExchange exchange = new DefaultServerWebExchange(
+                MockServerHttpRequest.get("/api/v1/posts/feed").header("Authorization", authorization).build(),
+                new MockServerHttpResponse(), sessionManager, codecConfigurer, localeResolver);
+        return filter.filter(exchange, chain).block();
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyToken(Cursor cursor) {
+        String authorization = authorizationHeaders[cursor.next++ % authorizationHeaders.length];
+        return jwtService.verifyToken(authorization.substring("Bearer ".length()));
+    }
+
+    private static String token(long userId) {
+        return Jwts.builder()
+                .subject(Long.toString(userId))
+                .claim("sid", UUID.randomUUID().toString())
+                .claim("role", "STUDENT")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24)))
+                .header().keyId("primary").and()
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,75 @@
+package com.campusConnect.apiGateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled access log written off the event loop. A request is logged if it failed with a 5xx, took longer than
+ * slowThreshold, or was picked by sampleRate. Entries go through a bounded queue to one writer thread and are
+ * dropped, and counted, when the writer falls behind.
+ */
+@Component
+public class AccessLog implements DisposableBean {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("campusConnect.accessLog");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final BlockingQueue<Entry> queue;
+    private final Counter dropped;
+    private final Thread writer;
+
+    public AccessLog(MeterRegistry meterRegistry,
+                     @Value("${gateway.accessLog.sampleRate:0.01}") double sampleRate,
+                     @Value("${gateway.accessLog.slowThreshold:1s}") Duration slowThreshold,
+                     @Value("${gateway.accessLog.queueCapacity:10000}") int queueCapacity) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("gateway.accesslog.dropped")
+                .description("Access log entries dropped because the writer fell behind")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drain, "access-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void record(String method, String path, String routeId, int status, long durationNanos, String userId) {
+        if (status < 500 && durationNanos < slowThresholdNanos && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!queue.offer(new Entry(method, path, routeId, status, durationNanos, userId))) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Entry entry = queue.take();
+                ACCESS_LOG.info("{} {} route={} status={} durationMs={} user={}", entry.method(), entry.path(),
+                        entry.routeId(), entry.status(), entry.durationNanos() / 1_000_000, entry.userId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        writer.interrupt();
+    }
+
+    private record Entry(String method, String path, String routeId, int status, long durationNanos, String userId) {
+    }
+}
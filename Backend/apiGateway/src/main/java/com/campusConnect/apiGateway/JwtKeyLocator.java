@@ -0,0 +1,53 @@
+package com.campusConnect.apiGateway;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the HMAC key for a token by its kid header. The gateway only verifies, so it holds the current and
+ * previous keys from the same jwt.* properties as authService and never signs anything.
+ */
+class JwtKeyLocator extends LocatorAdapter<Key> {
+
+    private final String legacyKeyId;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+
+    /**
+     * @param previousKeys verification-only keys as "kid=secret,kid=secret"; may be blank
+     */
+    JwtKeyLocator(String keyId, String secret, String previousKeys, String legacyKeyId) {
+        this.legacyKeyId = legacyKeyId == null || legacyKeyId.isBlank() ? keyId : legacyKeyId;
+        keys.put(keyId, toKey(secret));
+        if (previousKeys != null && !previousKeys.isBlank()) {
+            for (String entry : previousKeys.split(",")) {
+                int separator = entry.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected kid=secret in jwt.previousKeys");
+                }
+                keys.putIfAbsent(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : legacyKeyId;
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new JwtException("Unknown or retired signing key: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,13 +1,21 @@
 package com.campusConnect.apiGateway;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 
 @Service
 public class JwtService {
@@ -15,25 +23,87 @@ public class JwtService {
     @Value("${jwt.secretKey}")
     private String jwtSecretKey;
 
-    private SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.keyId:primary}")
+    private String keyId;
+
+    @Value("${jwt.previousKeys:}")
+    private String previousKeys;
+
+    @Value("${jwt.legacyKeyId:}")
+    private String legacyKeyId;
+
+    @Value("${jwt.cache.maxSize:10000}")
+    private long cacheMaxSize;
+
+    private JwtParser jwtParser;
+
+    // token digest -> claims, each entry lives until the token's own exp
+    private Cache<String, VerifiedClaims> verifiedClaimsCache;
+
+    @PostConstruct
+    void init() {
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new JwtKeyLocator(keyId, jwtSecretKey, previousKeys, legacyKeyId))
+                .build();
+        this.verifiedClaimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the signature once and returns the claims the gateway needs.
+     * Repeated presentations of the same token are served from the cache until the token expires.
+     */
+    public VerifiedClaims verifyToken(String token) {
+        String digest = digest(token);
+        VerifiedClaims cached = verifiedClaimsCache.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.now();
+        VerifiedClaims verifiedClaims = new VerifiedClaims(
+                claims.getSubject(), claims.get("role", String.class), claims.get("sid", String.class), expiresAt);
+
+        verifiedClaimsCache.put(digest, verifiedClaims);
+        return verifiedClaims;
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verifyToken(token).userId();
     }
 
     public String getUserRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return verifyToken(token).role();
+    }
+
+    private static long remainingNanos(VerifiedClaims claims) {
+        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.campusConnect.apiGateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked login sessions, polled from authService so AuthenticationFilter can reject revoked tokens
+ * with a map lookup instead of a call per request.
+ */
+@Slf4j
+@Service
+public class RevokedSessionRegistry {
+
+    // how far back the first poll reaches: the lifetime of an access token
+    private static final Duration INITIAL_LOOKBACK = Duration.ofHours(24);
+    // re-read a little history on every poll so revocations committed late are not skipped
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+    // authService's context path, then AuthController's mapping
+    static final String DEFAULT_REVOCATIONS_URI = "lb://authService/campusConnect/auth/auth/sessions/revoked";
+
+    private final WebClient.Builder webClientBuilder;
+    private final String revocationsUri;
+
+    // session id -> epoch millis after which the entry can be dropped
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+
+    private volatile long lastPollMillis;
+
+    public RevokedSessionRegistry(WebClient.Builder webClientBuilder,
+                                  @Value("${gateway.revocation.uri:" + DEFAULT_REVOCATIONS_URI + "}") String revocationsUri) {
+        this.webClientBuilder = webClientBuilder;
+        this.revocationsUri = revocationsUri;
+    }
+
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Long expiresAt = revokedSessions.get(sessionId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.revocation.pollIntervalMs:5000}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        long since = lastPollMillis == 0 ? now - INITIAL_LOOKBACK.toMillis() : lastPollMillis - POLL_OVERLAP.toMillis();
+        try {
+            // runs on the scheduler thread, never on an event loop
+            List<RevokedSession> revocations = webClientBuilder.build()
+                    .get()
+                    .uri(revocationsUri + "?since={since}", since)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<RevokedSession>>() {
+                    })
+                    .block(Duration.ofSeconds(5));
+            if (revocations != null) {
+                revocations.forEach(revoked -> revokedSessions.merge(revoked.sessionId(), revoked.expiresAt(), Math::max));
+            }
+            revokedSessions.values().removeIf(expiresAt -> expiresAt <= now);
+            lastPollMillis = now;
+        } catch (RuntimeException e) {
+            // keep serving the last known set; the next poll retries from the same point
+            log.warn("Could not poll session revocations: {}", e.getMessage());
+        }
+    }
+
+    record RevokedSession(String sessionId, long expiresAt, long revokedAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.campusConnect.apiGateway;
+
+import java.time.Instant;
+
+/**
+ * Result of a single successful signature check: the fields the gateway forwards downstream.
+ */
+public record VerifiedClaims(String userId, String role, String sessionId, Instant expiresAt) {
+}
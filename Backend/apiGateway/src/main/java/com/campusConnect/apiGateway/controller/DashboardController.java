@@ -0,0 +1,52 @@
+package com.campusConnect.apiGateway.controller;
+
+import com.campusConnect.apiGateway.JwtService;
+import com.campusConnect.apiGateway.RevokedSessionRegistry;
+import com.campusConnect.apiGateway.VerifiedClaims;
+import com.campusConnect.apiGateway.dto.StudentDashboardDTO;
+import com.campusConnect.apiGateway.service.StudentDashboardService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite endpoints served by the gateway itself. They are not behind a route,
+ * so the token is checked here as AuthenticationFilter would.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/campusConnect/dashboard")
+public class DashboardController {
+
+    private final JwtService jwtService;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final StudentDashboardService studentDashboardService;
+
+    @GetMapping("/student")
+    public Mono<StudentDashboardDTO> getStudentDashboard(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return studentDashboardService.getDashboard(authenticate(authorization));
+    }
+
+    private VerifiedClaims authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authorization token header not found");
+        }
+        try {
+            VerifiedClaims claims = jwtService.verifyToken(authorization.substring("Bearer ".length()).trim());
+            if (revokedSessionRegistry.isRevoked(claims.sessionId())) {
+                throw new JwtException("Session has been revoked");
+            }
+            return claims;
+        } catch (JwtException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+    }
+}
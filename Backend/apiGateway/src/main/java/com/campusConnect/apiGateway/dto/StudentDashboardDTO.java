@@ -0,0 +1,17 @@
+package com.campusConnect.apiGateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Student home screen in one payload. A section whose backend failed or timed out is null and listed in unavailable.
+ */
+public record StudentDashboardDTO(JsonNode assignmentsDue,
+                                  Double attendancePercentage,
+                                  Long unreadNotifications,
+                                  Long points,
+                                  Long rank,
+                                  JsonNode activeOpportunities,
+                                  List<String> unavailable) {
+}
@@ -0,0 +1,54 @@
+package com.campusConnect.apiGateway.filters;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Opts a load-balanced route into hedged reads: when a GET or HEAD has not been answered after about the route's
+ * p95 latency, a second copy is sent to another instance and whichever answers first is used.
+ * The hedging itself is done by HedgingRoutingFilter, and every hedge spends from the global RetryBudget.
+ * Only for routes whose reads are idempotent.
+ * <pre>
+ *   - name: HedgeFilter
+ *     args:
+ *       maxDelay: 500ms
+ * </pre>
+ */
+@Component
+public class HedgeFilter extends AbstractGatewayFilterFactory<HedgeFilter.Config> {
+
+    public static final String HEDGE_CONFIG_ATTR = HedgeFilter.class.getName() + ".config";
+
+    public HedgeFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+                exchange.getAttributes().put(HEDGE_CONFIG_ATTR, config);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // used until the route has minSamples primary latencies to derive its p95 from
+        private Duration initialDelay = Duration.ofMillis(200);
+        private int minSamples = 20;
+
+        // bounds for the p95-derived delay
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,328 @@
+package com.campusConnect.apiGateway.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sends the hedges for routes marked by HedgeFilter.
+ * Runs right after the load balancer has picked the primary instance. If the primary has not answered within the
+ * route's hedge delay, the same request goes to another registered instance; the first status line to arrive wins
+ * and the other call is cancelled. Hedges are sent with their own WebClient, because the gateway's routing filters
+ * keep per-exchange state and cannot run twice for one request; it sits on the gateway's HttpClient, so hedges get
+ * the same connection pool, timeouts and SSL settings as the primary.
+ */
+@Slf4j
+@Component
+public class HedgingRoutingFilter implements GlobalFilter, Ordered {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final Duration PERCENTILE_WINDOW = Duration.ofMinutes(1);
+    private static final int PERCENTILE_BUFFERS = 3;
+
+    private static final int UNDECIDED = 0;
+    private static final int PRIMARY = 1;
+    private static final int HEDGE = 2;
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final RetryBudget retryBudget;
+    private final List<HttpHeadersFilter> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    private final Map<String, RouteLatency> routeLatencies = new ConcurrentHashMap<>();
+
+    public HedgingRoutingFilter(ReactiveDiscoveryClient discoveryClient, RetryBudget retryBudget,
+                                List<HttpHeadersFilter> headersFilters, MeterRegistry meterRegistry,
+                                HttpClient httpClient) {
+        this.discoveryClient = discoveryClient;
+        this.retryBudget = retryBudget;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        retryBudget.deposit();
+
+        HedgeFilter.Config config = exchange.getAttribute(HedgeFilter.HEDGE_CONFIG_ATTR);
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI primaryUrl = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (config == null || route == null || primaryUrl == null || !"lb".equals(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        RouteLatency latency = routeLatencies.computeIfAbsent(routeId, id -> new RouteLatency(id, meterRegistry));
+        Duration delay = latency.hedgeDelay(config);
+        AtomicInteger winner = new AtomicInteger(UNDECIDED);
+        long start = System.nanoTime();
+
+        Mono<Void> primary = chain.filter(exchange.mutate()
+                        .response(new PrimaryResponse(exchange, winner, () -> latency.record(System.nanoTime() - start)))
+                        .build())
+                // once the hedge has won, only its completion may finish the request
+                .then(Mono.defer(() -> winner.get() == HEDGE ? Mono.<Void>never() : Mono.<Void>empty()))
+                .onErrorResume(e -> winner.get() == HEDGE ? Mono.never() : Mono.error(e));
+
+        Mono<Void> hedge = Mono.delay(delay)
+                .filter(tick -> winner.get() == UNDECIDED)
+                .flatMap(tick -> otherInstance(route.getUri().getHost(), primaryUrl))
+                .flatMap(instance -> {
+                    if (winner.get() != UNDECIDED) {
+                        return Mono.<Boolean>empty();
+                    }
+                    if (!retryBudget.tryWithdraw()) {
+                        count(routeId, "budget_exhausted");
+                        return Mono.<Boolean>empty();
+                    }
+                    count(routeId, "sent");
+                    return sendHedge(exchange, instance, primaryUrl, winner, () -> {
+                        latency.record(System.nanoTime() - start);
+                        count(routeId, "won");
+                    });
+                })
+                .onErrorResume(e -> {
+                    if (winner.get() == HEDGE) {
+                        return Mono.error(e);
+                    }
+                    log.debug("Hedge for route {} failed: {}", routeId, e.getMessage());
+                    return Mono.empty();
+                })
+                // a hedge that was not sent or did not win must not end the request
+                .flatMap(won -> Mono.<Void>empty())
+                .switchIfEmpty(Mono.defer(() -> winner.get() == HEDGE ? Mono.<Void>empty() : Mono.<Void>never()));
+
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    private Mono<ServiceInstance> otherInstance(String serviceId, URI primaryUrl) {
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> !(instance.getHost().equals(primaryUrl.getHost())
+                        && instance.getPort() == primaryUrl.getPort()))
+                .collectList()
+                .filter(instances -> !instances.isEmpty())
+                .map(instances -> instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+    }
+
+    private Mono<Boolean> sendHedge(ServerWebExchange exchange, ServiceInstance instance, URI primaryUrl,
+                                    AtomicInteger winner, Runnable onWin) {
+        URI hedgeUrl = UriComponentsBuilder.fromUri(primaryUrl)
+                .scheme(instance.isSecure() ? "https" : "http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters, exchange);
+
+        return webClient.method(exchange.getRequest().getMethod())
+                .uri(hedgeUrl)
+                .headers(headers -> {
+                    headers.putAll(requestHeaders);
+                    headers.remove(HttpHeaders.HOST);
+                })
+                .exchangeToMono(clientResponse -> {
+                    if (!winner.compareAndSet(UNDECIDED, HEDGE)) {
+                        return clientResponse.releaseBody().then(Mono.<Boolean>empty());
+                    }
+                    onWin.run();
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(clientResponse.statusCode());
+                    response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters,
+                            clientResponse.headers().asHttpHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+                    response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+                    return response.writeWith(clientResponse.bodyToFlux(DataBuffer.class)).thenReturn(true);
+                });
+    }
+
+    private void count(String routeId, String outcome) {
+        meterRegistry.counter("gateway.hedge.requests", "route", routeId, "outcome", outcome).increment();
+    }
+
+    // after the load balancer has resolved the primary instance, before NettyRoutingFilter sends to it
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    /**
+     * The response the primary call writes through. Its status line decides the race; once the hedge has won,
+     * everything the primary still writes is discarded.
+     */
+    private static final class PrimaryResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final AtomicInteger winner;
+        private final Runnable onArrival;
+        private final HttpHeaders discardedHeaders = new HttpHeaders();
+
+        private PrimaryResponse(ServerWebExchange exchange, AtomicInteger winner, Runnable onArrival) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.winner = winner;
+            this.onArrival = onArrival;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            if (winner.compareAndSet(UNDECIDED, PRIMARY)) {
+                onArrival.run();
+            }
+            if (winner.get() == PRIMARY) {
+                return super.setStatusCode(status);
+            }
+            // NettyWriteResponseFilter streams the body from this connection unless it is taken away
+            if (exchange.getAttributes().remove(CLIENT_RESPONSE_CONN_ATTR) instanceof Connection connection) {
+                connection.dispose();
+            }
+            return false;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return winner.get() == HEDGE ? discardedHeaders : super.getHeaders();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (winner.get() == HEDGE) {
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+            }
+            return super.writeWith(body);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (winner.get() == HEDGE) {
+                return Flux.from(body).flatMap(Flux::from).doOnNext(DataBufferUtils::release).then();
+            }
+            return super.writeAndFlushWith(body);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return winner.get() == HEDGE ? Mono.empty() : super.setComplete();
+        }
+    }
+
+    private static final class RouteLatency {
+        private final Timer primaryLatency;
+        private final WindowedCount windowSamples = new WindowedCount();
+        private volatile long delayNanos = -1;
+        private volatile long computedAt;
+
+        private RouteLatency(String routeId, MeterRegistry meterRegistry) {
+            this.primaryLatency = Timer.builder("gateway.hedge.primary.latency")
+                    .description("Time until the primary instance of a hedged request answered, or lost to the hedge")
+                    .tag("route", routeId)
+                    .publishPercentiles(HEDGE_PERCENTILE)
+                    .distributionStatisticExpiry(PERCENTILE_WINDOW)
+                    .distributionStatisticBufferLength(PERCENTILE_BUFFERS)
+                    .register(meterRegistry);
+        }
+
+        private void record(long nanos) {
+            primaryLatency.record(nanos, TimeUnit.NANOSECONDS);
+            windowSamples.increment();
+        }
+
+        // p95 only covers the last window, so after a quiet spell it is 0 or rests on too few samples to trust
+        private Duration hedgeDelay(HedgeFilter.Config config) {
+            long now = System.nanoTime();
+            if (delayNanos < 0 || now - computedAt > DELAY_REFRESH_NANOS) {
+                long p95 = windowSamples.get() < config.getMinSamples() ? -1 : percentileNanos();
+                delayNanos = p95 <= 0 ? config.getInitialDelay().toNanos()
+                        : Math.clamp(p95, config.getMinDelay().toNanos(), config.getMaxDelay().toNanos());
+                computedAt = now;
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+
+        private long percentileNanos() {
+            for (ValueAtPercentile value : primaryLatency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == HEDGE_PERCENTILE) {
+                    return (long) value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Samples behind the timer's current p95. Rotates like the timer's percentile ring buffer: every sample goes
+     * into all buffers, and the buffer being read is cleared and replaced every window / buffers.
+     */
+    private static final class WindowedCount {
+        private static final long ROTATE_NANOS = PERCENTILE_WINDOW.toNanos() / PERCENTILE_BUFFERS;
+
+        private final long[] counts = new long[PERCENTILE_BUFFERS];
+        private int current;
+        private long rotatedAt = System.nanoTime();
+
+        private synchronized void increment() {
+            rotate();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i]++;
+            }
+        }
+
+        private synchronized long get() {
+            rotate();
+            return counts[current];
+        }
+
+        private void rotate() {
+            long now = System.nanoTime();
+            if (now - rotatedAt >= ROTATE_NANOS * counts.length) {
+                Arrays.fill(counts, 0);
+                rotatedAt = now;
+                return;
+            }
+            while (now - rotatedAt >= ROTATE_NANOS) {
+                counts[current] = 0;
+                current = (current + 1) % counts.length;
+                rotatedAt += ROTATE_NANOS;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.campusConnect.apiGateway.filters;
+
+import com.campusConnect.apiGateway.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Per-user and per-IP token buckets for a route.
+ * Runs after AuthenticationFilter, so the user bucket is keyed on the verified user id, and ahead of the response
+ * cache and the stale fallback, so cache hits and stale responses count against the quota too.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
+    private final MeterRegistry meterRegistry;
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    // route|scope|key -> bucket, idle keys are evicted
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${gateway.rateLimit.maxKeys:100000}") long maxKeys,
+                           @Value("${gateway.rateLimit.idleTimeout:10m}") Duration idleTimeout,
+                           @Value("${gateway.rateLimit.trustedProxies:0}") int trustedProxies) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() { };
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String routeId = routeId(exchange);
+
+            if (config.getIpReplenishRate() > 0) {
+                String clientIp = getClientIp(exchange);
+                ConsumptionProbe probe = bucket(routeId, "ip", clientIp, config.getIpBurstCapacity(), config.getIpReplenishRate())
+                        .tryConsumeAndReturnRemaining(1);
+                if (!probe.isConsumed()) {
+                    return reject(exchange, routeId, "ip", clientIp, probe);
+                }
+            }
+
+            VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.VERIFIED_CLAIMS_ATTR);
+            if (claims != null && config.getReplenishRate() > 0) {
+                ConsumptionProbe probe = bucket(routeId, "user", claims.userId(), config.getBurstCapacity(), config.getReplenishRate())
+                        .tryConsumeAndReturnRemaining(1);
+                if (!probe.isConsumed()) {
+                    return reject(exchange, routeId, "user", claims.userId(), probe);
+                }
+                exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
+            }
+
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    private Bucket bucket(String routeId, String scope, String key, long capacity, long replenishRate) {
+        return buckets.get(routeId + "|" + scope + "|" + key, k -> Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(Math.max(capacity, replenishRate))
+                        .refillGreedy(replenishRate, Duration.ofSeconds(1))
+                        .build())
+                .build());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, String scope, String key, ConsumptionProbe probe) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+        log.debug("Rate limit exceeded on route {} for {} {}", routeId, scope, key);
+        meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId, "scope", scope).increment();
+
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", "0");
+        return exchange.getResponse().setComplete();
+    }
+
+    private String getClientIp(ServerWebExchange exchange) {
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // per-user quota, tokens per second and bucket size
+        private long replenishRate = 10;
+        private long burstCapacity = 20;
+
+        // per-IP quota, kept generous because campus networks sit behind shared NAT; 0 disables it
+        private long ipReplenishRate = 100;
+        private long ipBurstCapacity = 200;
+    }
+}
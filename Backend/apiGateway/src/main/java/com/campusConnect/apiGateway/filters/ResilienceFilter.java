@@ -0,0 +1,230 @@
+package com.campusConnect.apiGateway.filters;
+
+import com.campusConnect.apiGateway.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Per-route circuit breaker and concurrency bulkhead, so one slow or failing backend cannot hold every gateway
+ * connection. A call is failed when it errors, answers 5xx or exceeds the timeout; calls slower than
+ * slowCallThreshold also count against the breaker.
+ * When a call is refused or fails before the response starts, a GET is answered from the last good response
+ * (X-Cache: STALE) if there is one; everything else gets a fast 503.
+ * <pre>
+ *   - name: ResilienceFilter
+ *     args:
+ *       maxConcurrentCalls: 20
+ *       timeout: 5s
+ * </pre>
+ */
+@Slf4j
+@Component
+public class ResilienceFilter extends AbstractGatewayFilterFactory<ResilienceFilter.Config> {
+
+    // inside ResponseCacheFilter, and ahead of NettyWriteResponseFilter (-1) so the stale capture sees the body
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final MeterRegistry meterRegistry;
+    private final long maxEntryBytes;
+
+    // route -> breaker and bulkhead, created on the route's first request
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    // last good GET response per route|path?query|user, served while the backend is unavailable
+    private final Cache<String, ResponseSnapshot> lastGoodResponses;
+
+    public ResilienceFilter(MeterRegistry meterRegistry,
+                            @Value("${gateway.resilience.staleMaxBytes:33554432}") long staleMaxBytes,
+                            @Value("${gateway.resilience.staleMaxEntryBytes:262144}") long maxEntryBytes,
+                            @Value("${gateway.resilience.staleFor:10m}") Duration staleFor) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.maxEntryBytes = maxEntryBytes;
+        this.lastGoodResponses = Caffeine.newBuilder()
+                .maximumWeight(staleMaxBytes)
+                .weigher((String key, ResponseSnapshot value) -> key.length() + value.body().length)
+                .expireAfterWrite(staleFor)
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String routeId = routeId(exchange);
+            Guard guard = guards.computeIfAbsent(routeId, id -> new Guard(id, config, meterRegistry));
+
+            String staleKey = config.isStaleFallback() && exchange.getRequest().getMethod() == HttpMethod.GET
+                    && !exchange.getRequest().getHeaders().containsKey(HttpHeaders.RANGE)
+                    ? staleKey(routeId, exchange, config) : null;
+            ServerWebExchange guarded = staleKey == null ? exchange : exchange.mutate()
+                    .response(ResponseSnapshot.capturing(exchange.getResponse(), maxEntryBytes,
+                            snapshot -> lastGoodResponses.put(staleKey, snapshot)))
+                    .build();
+
+            return chain.filter(guarded)
+                    .then(Mono.defer(() -> isServerError(exchange.getResponse().getStatusCode())
+                            ? Mono.<Void>error(new ServerErrorResponse()) : Mono.<Void>empty()))
+                    .timeout(config.getTimeout())
+                    .transformDeferred(BulkheadOperator.of(guard.bulkhead))
+                    .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker))
+                    // the 5xx was already passed to the client; it only had to count as a failure
+                    .onErrorResume(ServerErrorResponse.class, e -> Mono.empty())
+                    .onErrorResume(e -> fallback(exchange, routeId, staleKey, guard, config, e));
+        }, ORDER);
+    }
+
+    private Mono<Void> fallback(ServerWebExchange exchange, String routeId, String staleKey, Guard guard, Config config,
+                                Throwable error) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(error);
+        }
+        String reason = reason(error);
+        ResponseSnapshot stale = staleKey != null ? lastGoodResponses.getIfPresent(staleKey) : null;
+        meterRegistry.counter("gateway.resilience.fallbacks", "route", routeId, "reason", reason,
+                "response", stale != null ? "stale" : "unavailable").increment();
+        if (stale != null) {
+            return stale.writeTo(response, "STALE");
+        }
+
+        log.debug("Route {} unavailable ({}): {}", routeId, reason, error.getMessage());
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        if (guard.circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(config.getOpenDuration().toSeconds()));
+        }
+        return response.setComplete();
+    }
+
+    private static String reason(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return "open";
+        }
+        if (error instanceof BulkheadFullException) {
+            return "bulkhead";
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "error";
+    }
+
+    private static boolean isServerError(HttpStatusCode status) {
+        return status != null && status.is5xxServerError();
+    }
+
+    // keyed per user unless the route says its responses are shared, so a fallback never leaks another caller's data
+    private static String staleKey(String routeId, ServerWebExchange exchange, Config config) {
+        StringBuilder key = new StringBuilder(routeId).append('|').append(exchange.getRequest().getURI().getRawPath());
+        String query = exchange.getRequest().getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        if (!config.isSharedResponses()) {
+            VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.VERIFIED_CLAIMS_ATTR);
+            key.append("|user=").append(claims != null ? claims.userId() : "");
+        }
+        return key.toString();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private static final class Guard {
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+
+        private Guard(String routeId, Config config, MeterRegistry meterRegistry) {
+            this.circuitBreaker = CircuitBreaker.of(routeId, CircuitBreakerConfig.custom()
+                    .slidingWindowSize(config.getSlidingWindowSize())
+                    .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                    .failureRateThreshold(config.getFailureRateThreshold())
+                    .slowCallDurationThreshold(config.getSlowCallThreshold())
+                    .slowCallRateThreshold(config.getSlowCallRateThreshold())
+                    .waitDurationInOpenState(config.getOpenDuration())
+                    .permittedNumberOfCallsInHalfOpenState(config.getHalfOpenCalls())
+                    // a full bulkhead is load shedding, not a sign the backend is broken
+                    .ignoreExceptions(BulkheadFullException.class)
+                    .build());
+            this.bulkhead = Bulkhead.of(routeId, BulkheadConfig.custom()
+                    .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Circuit breaker for route {}: {}", routeId, event.getStateTransition()));
+            Gauge.builder("gateway.circuitbreaker.state", circuitBreaker, cb -> cb.getState().getOrder())
+                    .description("0 closed, 1 open, 2 half open, other values disabled or forced")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.bulkhead.available", bulkhead, b -> b.getMetrics().getAvailableConcurrentCalls())
+                    .description("Concurrent calls the route can still take")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+    }
+
+    // marks a 5xx that has already been written, so the breaker records it as a failure
+    private static final class ServerErrorResponse extends RuntimeException {
+        private ServerErrorResponse() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // concurrent calls in flight to the route; more are refused at once
+        private int maxConcurrentCalls = 50;
+        private Duration timeout = Duration.ofSeconds(10);
+
+        // the breaker opens when this share (%) of the last slidingWindowSize calls failed or were slow
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private float failureRateThreshold = 50;
+        private Duration slowCallThreshold = Duration.ofSeconds(3);
+        private float slowCallRateThreshold = 80;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 5;
+
+        // answer refused GETs with the last good response
+        private boolean staleFallback = true;
+        // the route's GET responses are the same for every caller, so fallbacks need not be kept per user
+        private boolean sharedResponses = false;
+    }
+}
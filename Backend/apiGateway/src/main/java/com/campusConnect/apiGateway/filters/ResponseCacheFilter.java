@@ -0,0 +1,216 @@
+package com.campusConnect.apiGateway.filters;
+
+import com.campusConnect.apiGateway.VerifiedClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caches successful GET responses of a route for a fixed TTL, keyed by path, query and the configured headers.
+ * Concurrent misses for one key are coalesced: the first request goes upstream and the others wait for its
+ * response instead of sending their own.
+ * Runs after AuthenticationFilter and outside ResilienceFilter whatever the listing order, and must only be used on
+ * routes whose responses are the same for every caller unless perUser is set.
+ * <pre>
+ *   - name: ResponseCacheFilter
+ *     args:
+ *       ttl: 30s
+ *       varyHeaders: Accept-Language
+ * </pre>
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // must wrap the response before NettyWriteResponseFilter (-1) writes the upstream body into it
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private final MeterRegistry meterRegistry;
+    private final long maxEntryBytes;
+    private final Duration coalesceTimeout;
+
+    // route|path?query|vary values -> response, weighed by body size
+    private final Cache<String, CachedResponse> responses;
+
+    // key -> outcome of the upstream call in flight for it; empty when the response was not cacheable
+    private final Map<String, Sinks.One<ResponseSnapshot>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, RouteStats> routeStats = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(MeterRegistry meterRegistry,
+                               @Value("${gateway.responseCache.maxBytes:67108864}") long maxBytes,
+                               @Value("${gateway.responseCache.maxEntryBytes:1048576}") long maxEntryBytes,
+                               @Value("${gateway.responseCache.coalesceTimeout:10s}") Duration coalesceTimeout) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.maxEntryBytes = maxEntryBytes;
+        this.coalesceTimeout = coalesceTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> key.length() + value.snapshot().body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            // partial content is passed straight through so the backend answers the requested range
+            if (exchange.getRequest().getMethod() != HttpMethod.GET
+                    || exchange.getRequest().getHeaders().containsKey(HttpHeaders.RANGE)) {
+                return chain.filter(exchange);
+            }
+            String routeId = routeId(exchange);
+            RouteStats stats = routeStats.computeIfAbsent(routeId, id -> new RouteStats(id, meterRegistry));
+            String key = cacheKey(routeId, exchange, config);
+
+            CachedResponse cached = responses.getIfPresent(key);
+            if (cached != null) {
+                stats.hits.increment();
+                return cached.snapshot().writeTo(exchange.getResponse(), "HIT");
+            }
+
+            Sinks.One<ResponseSnapshot> sink = Sinks.one();
+            Sinks.One<ResponseSnapshot> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                // wait for the leader; if its response turns out not to be cacheable, go upstream ourselves
+                return leader.asMono()
+                        .timeout(coalesceTimeout, Mono.empty())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(response -> {
+                            if (response.isPresent()) {
+                                stats.coalesced.increment();
+                                return response.get().writeTo(exchange.getResponse(), "HIT");
+                            }
+                            stats.misses.increment();
+                            return chain.filter(exchange);
+                        });
+            }
+
+            stats.misses.increment();
+            exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            long ttlNanos = config.getTtl().toNanos();
+            ServerHttpResponse capturingResponse = ResponseSnapshot.capturing(exchange.getResponse(), maxEntryBytes, snapshot -> {
+                responses.put(key, new CachedResponse(snapshot, ttlNanos));
+                sink.tryEmitValue(snapshot);
+            });
+            return chain.filter(exchange.mutate().response(capturingResponse).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitEmpty();
+                    });
+        }, ORDER);
+    }
+
+    private static String cacheKey(String routeId, ServerWebExchange exchange, Config config) {
+        StringBuilder key = new StringBuilder(routeId).append('|').append(exchange.getRequest().getURI().getRawPath());
+        String query = exchange.getRequest().getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        for (String header : config.getVaryHeaders()) {
+            key.append('|').append(header).append('=').append(headers.getValuesAsList(header));
+        }
+        if (config.isPerUser()) {
+            VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.VERIFIED_CLAIMS_ATTR);
+            key.append("|user=").append(claims != null ? claims.userId() : "");
+        }
+        return key.toString();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record CachedResponse(ResponseSnapshot snapshot, long ttlNanos) {
+    }
+
+    private static final class RouteStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private RouteStats(String routeId, MeterRegistry meterRegistry) {
+            requestCounter(meterRegistry, routeId, "hit", hits);
+            requestCounter(meterRegistry, routeId, "coalesced", coalesced);
+            requestCounter(meterRegistry, routeId, "miss", misses);
+            Gauge.builder("gateway.cache.hit.ratio", this, RouteStats::hitRatio)
+                    .description("Share of cacheable requests answered without their own upstream call")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            long served = hits.sum() + coalesced.sum();
+            long total = served + misses.sum();
+            return total == 0 ? 0 : (double) served / total;
+        }
+
+        private static void requestCounter(MeterRegistry meterRegistry, String routeId, String result, LongAdder adder) {
+            FunctionCounter.builder("gateway.cache.requests", adder, LongAdder::sum)
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+
+        // request headers the upstream response depends on, e.g. Accept-Language
+        private List<String> varyHeaders = List.of();
+
+        // key entries on the verified user id, for routes whose response differs per caller
+        private boolean perUser = false;
+    }
+}
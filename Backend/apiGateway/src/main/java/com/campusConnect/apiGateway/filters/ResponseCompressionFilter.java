@@ -0,0 +1,394 @@
+package com.campusConnect.apiGateway.filters;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Compresses a route's responses with brotli or gzip, whichever the client's Accept-Encoding prefers.
+ * Only responses of the configured content types are compressed, and only when they are at least minResponseSize;
+ * responses that already carry a Content-Encoding, partial content and Cache-Control: no-transform are left alone.
+ * Bodies are compressed as they stream, and gzip deflaters are pooled across responses.
+ * The backend is always asked for an uncompressed body, so ResponseCacheFilter keeps one copy for every encoding.
+ * <pre>
+ *   - name: ResponseCompressionFilter
+ *     args:
+ *       minResponseSize: 2KB
+ * </pre>
+ */
+@Slf4j
+@Component
+public class ResponseCompressionFilter extends AbstractGatewayFilterFactory<ResponseCompressionFilter.Config> {
+
+    // outermost response wrapper, so cache hits and stale fallbacks are compressed too
+    public static final int ORDER = StreamingTransferFilter.ORDER - 1;
+
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+    private static final String IDENTITY = "identity";
+
+    private final MeterRegistry meterRegistry;
+    private final int gzipLevel;
+    private final Encoder.Parameters brotliParameters;
+    private final boolean brotliAvailable;
+
+    // reset deflaters ready for the next response; each one holds native zlib memory, so they are not made per response
+    private final BlockingQueue<Deflater> deflaters;
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry,
+                                     @Value("${gateway.compression.gzipLevel:6}") int gzipLevel,
+                                     @Value("${gateway.compression.brotliQuality:4}") int brotliQuality,
+                                     @Value("${gateway.compression.deflaterPoolSize:64}") int deflaterPoolSize) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.gzipLevel = gzipLevel;
+        this.brotliParameters = new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT);
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        this.deflaters = new ArrayBlockingQueue<>(deflaterPoolSize);
+        if (!brotliAvailable) {
+            log.warn("Brotli is not available on this platform, responses are compressed with gzip only: {}",
+                    Brotli4jLoader.getUnavailabilityCause().getMessage());
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<MediaType> mimeTypes = MediaType.parseMediaTypes(config.getMimeTypes());
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String encoding = negotiate(exchange.getRequest().getHeaders(), config.isBrotli() && brotliAvailable);
+            if (encoding == null || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange.mutate()
+                    .request(request -> request.headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING)))
+                    .response(new CompressingResponse(exchange.getResponse(), encoding, routeId(exchange), config,
+                            mimeTypes))
+                    .build());
+        }, ORDER);
+    }
+
+    /**
+     * The encoding to use for the given request headers, or null when the client accepts neither.
+     * Brotli wins a tie, since it compresses JSON noticeably better at the same speed.
+     */
+    private static String negotiate(HttpHeaders requestHeaders, boolean brotli) {
+        double br = -1;
+        double gzip = -1;
+        double any = -1;
+        for (String value : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.split(";");
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                    case BROTLI -> br = quality;
+                    case GZIP, "x-gzip" -> gzip = quality;
+                    case "*" -> any = quality;
+                    default -> { }
+                }
+            }
+        }
+        br = br < 0 ? any : br;
+        gzip = gzip < 0 ? any : gzip;
+        if (brotli && br > 0 && br >= gzip) {
+            return BROTLI;
+        }
+        return gzip > 0 ? GZIP : null;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+        private final String encoding;
+        private final String routeId;
+        private final Config config;
+        private final List<MediaType> mimeTypes;
+
+        private CompressingResponse(ServerHttpResponse delegate, String encoding, String routeId, Config config,
+                                    List<MediaType> mimeTypes) {
+            super(delegate);
+            this.encoding = encoding;
+            this.routeId = routeId;
+            this.config = config;
+            this.mimeTypes = mimeTypes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressible(getStatusCode(), headers)) {
+                return super.writeWith(body);
+            }
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            // the compressed bytes differ from what a strong validator promised
+            String eTag = headers.getETag();
+            if (eTag != null && !eTag.startsWith("W/")) {
+                headers.setETag("W/" + eTag);
+            }
+
+            BodyEncoder encoder = BROTLI.equals(encoding) ? new BrotliEncoder() : new GzipEncoder();
+            Flux<DataBuffer> compressed = Flux.<DataBuffer>from(body)
+                    .map(encoder::encode)
+                    .concatWith(Mono.fromCallable(encoder::finish))
+                    .filter(bytes -> bytes.length > 0)
+                    .map(bytes -> bufferFactory().wrap(bytes))
+                    .doFinally(signal -> {
+                        encoder.close();
+                        if (signal == SignalType.ON_COMPLETE) {
+                            record(encoder);
+                        }
+                    });
+            return super.writeWith(compressed);
+        }
+
+        private boolean isCompressible(HttpStatusCode status, HttpHeaders headers) {
+            if (status != null && (!status.is2xxSuccessful() || status.value() == 204 || status.value() == 206)) {
+                return false;
+            }
+            String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+            if ((contentEncoding != null && !IDENTITY.equalsIgnoreCase(contentEncoding))
+                    || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.contains("no-transform")) {
+                return false;
+            }
+            // a backend only streams a body without a length once it has outgrown its buffer, so those qualify
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < config.getMinResponseSize().toBytes()) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            return contentType != null && mimeTypes.stream().anyMatch(type -> type.isCompatibleWith(contentType));
+        }
+
+        private void record(BodyEncoder encoder) {
+            meterRegistry.counter("gateway.compression.responses", "route", routeId, "encoding", encoding).increment();
+            meterRegistry.counter("gateway.compression.bytes.in", "route", routeId, "encoding", encoding)
+                    .increment(encoder.bytesIn());
+            meterRegistry.counter("gateway.compression.bytes.saved", "route", routeId, "encoding", encoding)
+                    .increment(encoder.bytesIn() - encoder.bytesOut());
+        }
+    }
+
+    /**
+     * Stateful compressor for one response body. Calls are synchronized because a cancelled response closes the
+     * encoder from another thread than the one compressing.
+     */
+    private abstract static class BodyEncoder {
+        private static final byte[] NONE = new byte[0];
+
+        protected final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        private long bytesIn;
+        private long bytesOut;
+        private boolean closed;
+
+        final synchronized byte[] encode(DataBuffer buffer) {
+            try {
+                if (closed) {
+                    return NONE;
+                }
+                byte[] input = new byte[buffer.readableByteCount()];
+                buffer.read(input);
+                bytesIn += input.length;
+                write(input);
+                return drain();
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        final synchronized byte[] finish() {
+            if (closed) {
+                return NONE;
+            }
+            writeEnd();
+            return drain();
+        }
+
+        final synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release();
+            }
+        }
+
+        private byte[] drain() {
+            byte[] bytes = out.toByteArray();
+            out.reset();
+            bytesOut += bytes.length;
+            return bytes;
+        }
+
+        final long bytesIn() {
+            return bytesIn;
+        }
+
+        final long bytesOut() {
+            return bytesOut;
+        }
+
+        protected abstract void write(byte[] input);
+
+        protected abstract void writeEnd();
+
+        protected abstract void release();
+    }
+
+    private final class GzipEncoder extends BodyEncoder {
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] chunk = new byte[8192];
+
+        private GzipEncoder() {
+            Deflater pooled = deflaters.poll();
+            this.deflater = pooled != null ? pooled : new Deflater(gzipLevel, true);
+            out.writeBytes(HEADER);
+        }
+
+        @Override
+        protected void write(byte[] input) {
+            crc.update(input);
+            deflater.setInput(input);
+            while (!deflater.needsInput()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+        }
+
+        @Override
+        protected void writeEnd() {
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            writeIntLittleEndian((int) crc.getValue());
+            writeIntLittleEndian((int) bytesIn());
+        }
+
+        private void writeIntLittleEndian(int value) {
+            for (int i = 0; i < 4; i++) {
+                out.write(value >>> (8 * i));
+            }
+        }
+
+        @Override
+        protected void release() {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    // brotli4j's native encoders cannot be reset, so one is made per response and freed when it closes
+    private final class BrotliEncoder extends BodyEncoder {
+        private final BrotliOutputStream brotli;
+        private boolean ended;
+
+        private BrotliEncoder() {
+            try {
+                this.brotli = new BrotliOutputStream(out, brotliParameters);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        protected void write(byte[] input) {
+            try {
+                brotli.write(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        protected void writeEnd() {
+            ended = true;
+            try {
+                brotli.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        protected void release() {
+            if (!ended) {
+                try {
+                    brotli.close();
+                } catch (IOException e) {
+                    log.debug("Failed to free brotli encoder: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // responses that announce a smaller Content-Length are sent as they are
+        private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+        // compressed media such as images, video, zip and pdf is deliberately absent
+        private List<String> mimeTypes = List.of("application/json", "application/*+json", "application/xml",
+                "text/html", "text/plain", "text/css", "text/csv", "text/javascript", "application/javascript");
+
+        private boolean brotli = true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.campusConnect.apiGateway.filters;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A buffered upstream response that can be written again to other requests.
+ * Shared by ResponseCacheFilter and the stale fallback of ResilienceFilter.
+ */
+record ResponseSnapshot(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAtNanos) {
+
+    // end-to-end headers describing the body; hop-by-hop and per-request ones (rate-limit state, X-Cache,
+    // request ids) belong to the request that fetched it and must not reach other clients
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.VARY);
+
+    static boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != 200 || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Wraps a response so a cacheable body of at most maxBytes is copied while it streams through and handed to
+     * onCaptured once it has been written. Larger bodies stop being copied as soon as they pass maxBytes, so a large
+     * or unannounced body is never held in memory.
+     */
+    static ServerHttpResponse capturing(ServerHttpResponse delegate, long maxBytes, Consumer<ResponseSnapshot> onCaptured) {
+        return new ServerHttpResponseDecorator(delegate) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                long contentLength = getHeaders().getContentLength();
+                if (!isCacheable(status, getHeaders()) || contentLength > maxBytes) {
+                    return super.writeWith(body);
+                }
+                HttpHeaders headers = new HttpHeaders();
+                for (String name : REPLAYED_HEADERS) {
+                    List<String> values = getHeaders().get(name);
+                    if (values != null) {
+                        headers.put(name, List.copyOf(values));
+                    }
+                }
+
+                ByteArrayOutputStream copy = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 1024);
+                AtomicBoolean tooLarge = new AtomicBoolean();
+                Flux<? extends DataBuffer> copying = Flux.from(body).doOnNext(buffer -> {
+                    int length = buffer.readableByteCount();
+                    if (tooLarge.get() || copy.size() + length > maxBytes) {
+                        tooLarge.set(true);
+                        return;
+                    }
+                    byte[] bytes = new byte[length];
+                    int position = buffer.readPosition();
+                    buffer.read(bytes);
+                    buffer.readPosition(position);
+                    copy.writeBytes(bytes);
+                });
+                return super.writeWith(copying).doOnSuccess(done -> {
+                    if (!tooLarge.get()) {
+                        onCaptured.accept(new ResponseSnapshot(status, HttpHeaders.readOnlyHttpHeaders(headers),
+                                copy.toByteArray(), System.nanoTime()));
+                    }
+                });
+            }
+        };
+    }
+
+    Mono<Void> writeTo(ServerHttpResponse response, String cacheStatus) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().setContentLength(body.length);
+        response.getHeaders().set(ResponseCacheFilter.CACHE_STATUS_HEADER, cacheStatus);
+        response.getHeaders().set(HttpHeaders.AGE,
+                String.valueOf(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - storedAtNanos)));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.campusConnect.apiGateway.filters;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway-wide allowance for extra upstream requests such as hedges.
+ * Every routed request deposits budgetRatio of a token and every extra request withdraws a whole one, so extra
+ * load stays below that share of real traffic. The balance is capped at budgetMaxTokens to bound bursts.
+ */
+@Component
+public class RetryBudget {
+
+    private static final long MILLIS_PER_TOKEN = 1000;
+
+    private final long depositMillis;
+    private final long maxMillis;
+
+    // token balance in thousandths of a token
+    private final AtomicLong balance = new AtomicLong();
+
+    public RetryBudget(@Value("${gateway.hedge.budgetRatio:0.05}") double budgetRatio,
+                       @Value("${gateway.hedge.budgetMaxTokens:100}") int budgetMaxTokens,
+                       MeterRegistry meterRegistry) {
+        this.depositMillis = Math.round(budgetRatio * MILLIS_PER_TOKEN);
+        this.maxMillis = budgetMaxTokens * MILLIS_PER_TOKEN;
+        Gauge.builder("gateway.retry.budget.tokens", balance, b -> (double) b.get() / MILLIS_PER_TOKEN)
+                .description("Extra upstream requests the gateway may still send")
+                .register(meterRegistry);
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(depositMillis, (current, deposit) -> Math.min(current + deposit, maxMillis));
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < MILLIS_PER_TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - MILLIS_PER_TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
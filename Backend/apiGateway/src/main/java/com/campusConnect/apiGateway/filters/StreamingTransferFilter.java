@@ -0,0 +1,174 @@
+package com.campusConnect.apiGateway.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Size limits for routes carrying large bodies, such as attachments, classroom resources and assignment submissions.
+ * Bodies keep streaming between client and backend with backpressure and are never aggregated here: a request whose
+ * Content-Length is over the limit is refused before any of it is read, and a body without a length is cut off as
+ * soon as it passes the limit. Range requests and partial responses pass through untouched.
+ * ResilienceFilter's timeout covers the whole transfer, so on these routes it must allow for the slowest upload.
+ * <pre>
+ *   - name: StreamingTransferFilter
+ *     args:
+ *       maxUploadSize: 50MB
+ *       maxDownloadSize: 500MB
+ * </pre>
+ */
+@Slf4j
+@Component
+public class StreamingTransferFilter extends AbstractGatewayFilterFactory<StreamingTransferFilter.Config> {
+
+    // ahead of AuthenticationFilter, so an oversized upload costs no token verification
+    public static final int ORDER = AuthenticationFilter.ORDER - 1;
+
+    private final MeterRegistry meterRegistry;
+
+    public StreamingTransferFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String routeId = routeId(exchange);
+            ServerHttpRequest request = exchange.getRequest();
+            long maxUploadBytes = config.getMaxUploadSize().toBytes();
+            long contentLength = request.getHeaders().getContentLength();
+
+            if (contentLength > maxUploadBytes) {
+                rejected(routeId, "upload");
+                log.debug("Refused {} byte upload to route {}", contentLength, routeId);
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                // the client may still be sending; do not leave the connection to drain it
+                response.getHeaders().set(HttpHeaders.CONNECTION, "close");
+                return response.setComplete();
+            }
+
+            ServerWebExchange.Builder limited = exchange.mutate();
+            if (contentLength < 0) {
+                limited.request(new LimitedRequest(request, maxUploadBytes, () -> rejected(routeId, "upload")));
+            }
+            if (config.getMaxDownloadSize() != null) {
+                limited.response(new LimitedResponse(exchange.getResponse(), config.getMaxDownloadSize().toBytes(),
+                        () -> rejected(routeId, "download")));
+            }
+            return chain.filter(limited.build());
+        }, ORDER);
+    }
+
+    private void rejected(String routeId, String direction) {
+        meterRegistry.counter("gateway.transfer.rejected", "route", routeId, "direction", direction).increment();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    // passes buffers on as they come and fails the stream once more than maxBytes have gone through
+    private static Flux<DataBuffer> limit(Publisher<? extends DataBuffer> body, AtomicLong transferred, long maxBytes,
+                                          HttpStatus status, Runnable onExceeded) {
+        return Flux.<DataBuffer>from(body).handle((buffer, sink) -> {
+            if (transferred.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                DataBufferUtils.release(buffer);
+                onExceeded.run();
+                sink.error(new ResponseStatusException(status, "Body exceeds " + maxBytes + " bytes"));
+                return;
+            }
+            sink.next(buffer);
+        });
+    }
+
+    private static final class LimitedRequest extends ServerHttpRequestDecorator {
+        private final long maxBytes;
+        private final Runnable onExceeded;
+
+        private LimitedRequest(ServerHttpRequest delegate, long maxBytes, Runnable onExceeded) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+            this.onExceeded = onExceeded;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> limit(super.getBody(), new AtomicLong(), maxBytes,
+                    HttpStatus.PAYLOAD_TOO_LARGE, onExceeded));
+        }
+    }
+
+    private static final class LimitedResponse extends ServerHttpResponseDecorator {
+        private final long maxBytes;
+        private final Runnable onExceeded;
+        private final AtomicLong written = new AtomicLong();
+
+        private LimitedResponse(ServerHttpResponse delegate, long maxBytes, Runnable onExceeded) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+            this.onExceeded = onExceeded;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > maxBytes) {
+                return refuse();
+            }
+            return super.writeWith(limit(body, written, maxBytes, HttpStatus.BAD_GATEWAY, onExceeded));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (getHeaders().getContentLength() > maxBytes) {
+                return refuse();
+            }
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(chunk -> limit(chunk, written, maxBytes, HttpStatus.BAD_GATEWAY, onExceeded)));
+        }
+
+        // nothing is committed yet; drop the upstream headers so the error response does not inherit its length
+        private Mono<Void> refuse() {
+            onExceeded.run();
+            getHeaders().clear();
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    "Upstream response exceeds " + maxBytes + " bytes"));
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // requests announcing or sending more than this are answered 413
+        private DataSize maxUploadSize = DataSize.ofMegabytes(25);
+
+        // upstream responses larger than this are not passed on; unlimited when unset
+        private DataSize maxDownloadSize;
+    }
+}
@@ -0,0 +1,104 @@
+package com.campusConnect.apiGateway.service;
+
+import com.campusConnect.apiGateway.VerifiedClaims;
+import com.campusConnect.apiGateway.dto.StudentDashboardDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the student dashboard by calling every backend at once, each under its own timeout.
+ * A slow or failing backend only blanks its own section.
+ */
+@Slf4j
+@Service
+public class StudentDashboardService {
+
+    // section -> backend call, {userId} is the caller; each service serves under its servlet context path
+    private static final Map<String, String> SECTIONS = new LinkedHashMap<>();
+
+    static {
+        SECTIONS.put("assignmentsDue", "lb://classroomService/campusConnect/classroom/api/assignments/due/this-week/student/{userId}");
+        SECTIONS.put("attendancePercentage", "lb://classroomService/campusConnect/classroom/api/attendance/student/{userId}/percentage");
+        SECTIONS.put("unreadNotifications", "lb://chatService/campusConnect/chat/notifications/unread/count");
+        SECTIONS.put("points", "lb://gamificationService/campusConnect/gamification/api/gamification/points/total/{userId}");
+        SECTIONS.put("rank", "lb://gamificationService/campusConnect/gamification/api/gamification/leaderboard/user/{userId}");
+        SECTIONS.put("activeOpportunities", "lb://opportunityService/campusConnect/opportunity/api/opportunities/active");
+    }
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Duration callTimeout;
+
+    public StudentDashboardService(WebClient.Builder webClientBuilder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${gateway.dashboard.callTimeout:800ms}") Duration callTimeout) {
+        this.webClient = webClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.callTimeout = callTimeout;
+    }
+
+    public Mono<StudentDashboardDTO> getDashboard(VerifiedClaims claims) {
+        return Flux.fromIterable(SECTIONS.entrySet())
+                .flatMap(section -> fetch(section.getKey(), section.getValue(), claims)
+                        .map(body -> Map.entry(section.getKey(), body)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(StudentDashboardService::toDashboard);
+    }
+
+    private Mono<Optional<JsonNode>> fetch(String section, String uri, VerifiedClaims claims) {
+        return webClient.get()
+                .uri(uri, claims.userId())
+                .header("X-User-Id", claims.userId())
+                .header("X-User-Role", claims.role())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(callTimeout)
+                .map(body -> Optional.of(unwrap(body)))
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    String reason = e instanceof TimeoutException ? "timeout" : "error";
+                    log.debug("Dashboard section {} unavailable for user {}: {}", section, claims.userId(), reason);
+                    meterRegistry.counter("gateway.dashboard.section.failures", "section", section, "reason", reason).increment();
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static StudentDashboardDTO toDashboard(Map<String, Optional<JsonNode>> sections) {
+        List<String> unavailable = new ArrayList<>();
+        SECTIONS.keySet().forEach(section -> {
+            if (sections.get(section).isEmpty()) {
+                unavailable.add(section);
+            }
+        });
+        return new StudentDashboardDTO(
+                sections.get("assignmentsDue").orElse(null),
+                sections.get("attendancePercentage").map(JsonNode::asDouble).orElse(null),
+                sections.get("unreadNotifications").map(JsonNode::asLong).orElse(null),
+                sections.get("points").map(JsonNode::asLong).orElse(null),
+                sections.get("rank").map(entry -> entry.path("rank"))
+                        .filter(rank -> !rank.isMissingNode() && !rank.isNull())
+                        .map(JsonNode::asLong)
+                        .orElse(null),
+                sections.get("activeOpportunities").orElse(null),
+                unavailable);
+    }
+
+    // services with a GlobalResponseHandler wrap bodies as {timeStamp, data, error}
+    private static JsonNode unwrap(JsonNode body) {
+        return body.isObject() && body.has("timeStamp") && body.has("data") ? body.get("data") : body;
+    }
+}
@@ -0,0 +1,188 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.HedgeFilter;
+import com.campusConnect.apiGateway.filters.HedgingRoutingFilter;
+import com.campusConnect.apiGateway.filters.RetryBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class HedgingRoutingFilterTest {
+
+    private DisposableServer fastInstance;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        fastInstance = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/classrooms", (request, response) ->
+                        response.header("Content-Type", "application/json").sendString(Mono.just("[\"hedge\"]"))))
+                .bindNow();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fastInstance.disposeNow();
+    }
+
+    @Test
+    void testSlowPrimary_IsAnsweredByHedge() {
+        HedgingRoutingFilter filter = filter(new RetryBudget(1, 10, meterRegistry));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, primary(Duration.ofSeconds(5))).block(Duration.ofSeconds(3));
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("[\"hedge\"]", exchange.getResponse().getBodyAsString().block());
+        assertEquals(1, meterRegistry.get("gateway.hedge.requests").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    void testEmptyBudget_WaitsForPrimary() {
+        HedgingRoutingFilter filter = filter(new RetryBudget(0, 10, meterRegistry));
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, primary(Duration.ofMillis(300))).block(Duration.ofSeconds(3));
+
+        assertEquals("[\"primary\"]", exchange.getResponse().getBodyAsString().block());
+        assertEquals(1, meterRegistry.get("gateway.hedge.requests").tag("outcome", "budget_exhausted").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLatePrimary_IsDroppedByNettyRoutingPath() throws InterruptedException {
+        // the hedge's status line arrives at once, its body only after the primary has answered
+        DisposableServer streamingInstance = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/classrooms", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .header("X-Instance", "hedge")
+                        .send(Flux.concat(Mono.just("[\"hed"), Mono.delay(Duration.ofSeconds(2)).thenReturn("ge\"]"))
+                                .map(chunk -> Unpooled.copiedBuffer(chunk, StandardCharsets.UTF_8)), chunk -> true)))
+                .bindNow();
+        // the primary answers while the hedge is still streaming, and would keep its connection busy for seconds
+        CountDownLatch primaryClosed = new CountDownLatch(1);
+        DisposableServer lateInstance = HttpServer.create()
+                .port(0)
+                .doOnConnection(connection -> connection.onDispose(primaryClosed::countDown))
+                .route(routes -> routes.get("/api/classrooms", (request, response) -> Mono.delay(Duration.ofSeconds(1))
+                        .then(Mono.from(response
+                                .status(HttpStatus.ACCEPTED.value())
+                                .header("X-Instance", "primary")
+                                .sendHeaders()
+                                .then(response.sendString(Mono.delay(Duration.ofSeconds(5)).thenReturn("[\"primary\"]")))))))
+                .bindNow();
+        try {
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+            when(headersFilters.getIfAvailable()).thenReturn(List.of());
+            NettyRoutingFilter routingFilter = new NettyRoutingFilter(HttpClient.create(), headersFilters,
+                    new HttpClientProperties());
+            NettyWriteResponseFilter writeResponseFilter = new NettyWriteResponseFilter(List.of());
+            HedgingRoutingFilter filter = filter(new RetryBudget(1, 10, meterRegistry),
+                    instance("primary", lateInstance.port()), instance("hedge", streamingInstance.port()));
+            MockServerWebExchange exchange = exchange(URI.create("http://localhost:" + lateInstance.port() + "/api/classrooms"));
+
+            writeResponseFilter.filter(exchange, written -> filter.filter(written,
+                    hedged -> routingFilter.filter(hedged, routed -> Mono.empty()))).block(Duration.ofSeconds(4));
+
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals("hedge", exchange.getResponse().getHeaders().getFirst("X-Instance"));
+            assertEquals("[\"hedge\"]", exchange.getResponse().getBodyAsString().block());
+            assertEquals(1, meterRegistry.get("gateway.hedge.requests").tag("outcome", "won").counter().count());
+            // taken from CLIENT_RESPONSE_CONN_ATTR and closed, rather than left for NettyWriteResponseFilter to drain
+            assertTrue(primaryClosed.await(1, TimeUnit.SECONDS));
+        } finally {
+            streamingInstance.disposeNow();
+            lateInstance.disposeNow();
+        }
+    }
+
+    private HedgingRoutingFilter filter(RetryBudget retryBudget) {
+        return filter(retryBudget, new DefaultServiceInstance("slow", "classroomService", "10.0.0.1", 8083, false),
+                instance("fast", fastInstance.port()));
+    }
+
+    private static ServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, "classroomService", "localhost", port, false);
+    }
+
+    private HedgingRoutingFilter filter(RetryBudget retryBudget, ServiceInstance primary, ServiceInstance other) {
+        ReactiveDiscoveryClient discoveryClient = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.just(primary, other);
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.just("classroomService");
+            }
+        };
+        return new HedgingRoutingFilter(discoveryClient, retryBudget, List.of(), meterRegistry, HttpClient.create());
+    }
+
+    private static MockServerWebExchange exchange() {
+        return exchange(URI.create("http://10.0.0.1:8083/api/classrooms"));
+    }
+
+    private static MockServerWebExchange exchange(URI primaryUrl) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/classrooms"));
+        HedgeFilter.Config config = new HedgeFilter.Config();
+        config.setInitialDelay(Duration.ofMillis(50));
+        exchange.getAttributes().put(HedgeFilter.HEDGE_CONFIG_ATTR, config);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id("classroomService").uri("lb://classroomService").predicate(e -> true).build());
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, primaryUrl);
+        return exchange;
+    }
+
+    private static GatewayFilterChain primary(Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap("[\"primary\"]".getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
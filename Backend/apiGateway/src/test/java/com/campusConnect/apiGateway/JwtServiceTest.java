@@ -0,0 +1,81 @@
+package com.campusConnect.apiGateway;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "campusConnect-test-secret-key-that-is-long-enough-for-hs256";
+    private static final String PREVIOUS_SECRET = "campusConnect-previous-secret-key-long-enough-for-hs256";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "keyId", "k2");
+        ReflectionTestUtils.setField(jwtService, "previousKeys", "k1=" + PREVIOUS_SECRET);
+        ReflectionTestUtils.setField(jwtService, "legacyKeyId", "k2");
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+    }
+
+    @Test
+    void testVerifyToken_ReturnsUserIdAndRole() {
+        String token = token(SECRET, 60_000);
+
+        VerifiedClaims claims = jwtService.verifyToken(token);
+
+        assertEquals("42", claims.userId());
+        assertEquals("STUDENT", claims.role());
+        assertSame(claims, jwtService.verifyToken(token));
+    }
+
+    @Test
+    void testVerifyToken_RejectsForeignSignature() {
+        String token = token("some-other-secret-key-that-is-also-long-enough-for-hs256", 60_000);
+
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(token));
+    }
+
+    @Test
+    void testVerifyToken_RejectsExpiredToken() {
+        String token = token(SECRET, -1_000);
+
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(token));
+    }
+
+    @Test
+    void testVerifyToken_SelectsKeyByKid() {
+        assertEquals("42", jwtService.verifyToken(token(PREVIOUS_SECRET, "k1", 60_000)).userId());
+        assertEquals("42", jwtService.verifyToken(token(SECRET, "k2", 60_000)).userId());
+        // right secret, wrong kid
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(token(SECRET, "k1", 60_000)));
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(token(SECRET, "retired", 60_000)));
+    }
+
+    private static String token(String secret, long ttlMillis) {
+        return token(secret, null, ttlMillis);
+    }
+
+    private static String token(String secret, String keyId, long ttlMillis) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject("42")
+                .claim("role", "STUDENT")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,58 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.AuthenticationFilter;
+import com.campusConnect.apiGateway.filters.RateLimitFilter;
+import com.campusConnect.apiGateway.filters.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(1);
+        filter = new RateLimitFilter(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), 0).apply(config);
+    }
+
+    @Test
+    void testOrder_SitsBetweenAuthenticationAndResponseCache() {
+        int order = ((OrderedGatewayFilter) filter).getOrder();
+
+        assertTrue(AuthenticationFilter.ORDER < order);
+        assertTrue(order < ResponseCacheFilter.ORDER);
+    }
+
+    @Test
+    void testUserOverQuota_IsRejected() {
+        MockServerWebExchange first = authenticated();
+        filter.filter(first, exchange -> Mono.empty()).block();
+        MockServerWebExchange second = authenticated();
+        filter.filter(second, exchange -> Mono.empty()).block();
+
+        assertNull(first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange authenticated() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/leaderboard"));
+        exchange.getAttributes().put(AuthenticationFilter.VERIFIED_CLAIMS_ATTR,
+                new VerifiedClaims("42", "STUDENT", "sid", Instant.now().plusSeconds(60)));
+        return exchange;
+    }
+}
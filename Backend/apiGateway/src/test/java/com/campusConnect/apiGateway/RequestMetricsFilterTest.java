@@ -0,0 +1,64 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.AuthenticationFilter;
+import com.campusConnect.apiGateway.filters.RequestMetricsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class RequestMetricsFilterTest {
+
+    @Test
+    void testFilter_RecordsTimerByRouteStatusClassAndRole() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLog accessLog = new AccessLog(meterRegistry, 0, Duration.ofSeconds(1), 10);
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, accessLog);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/campusConnect/forum/posts"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id("forumService").uri("lb://forumService").predicate(e -> true).build());
+
+        filter.filter(exchange, routed -> {
+            routed.getAttributes().put(AuthenticationFilter.VERIFIED_CLAIMS_ATTR,
+                    new VerifiedClaims("42", "STUDENT", "sid", Instant.now().plusSeconds(60)));
+            routed.getResponse().setStatusCode(HttpStatus.CREATED);
+            return Mono.empty();
+        }).block();
+
+        assertEquals(1, meterRegistry.get("gateway.requests")
+                .tag("route", "forumService")
+                .tag("status", "2xx")
+                .tag("role", "STUDENT")
+                .timer().count());
+        accessLog.destroy();
+    }
+
+    @Test
+    void testFilter_RecordsStatusOfErrorBeforeErrorHandlerRuns() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessLog accessLog = new AccessLog(meterRegistry, 0, Duration.ofSeconds(1), 10);
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, accessLog);
+
+        MockServerWebExchange timedOut = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/campusConnect/forum/posts"));
+        assertThrows(ResponseStatusException.class, () -> filter.filter(timedOut,
+                routed -> Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT))).block());
+        MockServerWebExchange failed = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/campusConnect/forum/posts"));
+        assertThrows(IllegalStateException.class, () -> filter.filter(failed,
+                routed -> Mono.error(new IllegalStateException("connection reset"))).block());
+
+        assertEquals(2, meterRegistry.get("gateway.requests").tag("status", "5xx").timer().count());
+        assertTrue(meterRegistry.find("gateway.requests").tag("status", "2xx").timers().isEmpty());
+        accessLog.destroy();
+    }
+}
@@ -0,0 +1,104 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.ResilienceFilter;
+import com.campusConnect.apiGateway.filters.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"name\":\"Acme\"}]";
+
+    private ResilienceFilter resilienceFilter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        resilienceFilter = new ResilienceFilter(new SimpleMeterRegistry(), 1_000_000, 10_000, Duration.ofMinutes(10));
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testBulkheadFull_RejectsWithServiceUnavailable() {
+        ResilienceFilter.Config config = new ResilienceFilter.Config();
+        config.setMaxConcurrentCalls(1);
+        GatewayFilter filter = resilienceFilter.apply(config);
+
+        MockServerWebExchange slow = post("/alumni/search");
+        MockServerWebExchange rejected = post("/alumni/search");
+        Mono.when(
+                filter.filter(slow, upstream(HttpStatus.OK, Duration.ofMillis(300))),
+                Mono.delay(Duration.ofMillis(50)).then(filter.filter(rejected, upstream(HttpStatus.OK, Duration.ZERO)))
+        ).block();
+
+        assertEquals(HttpStatus.OK, slow.getResponse().getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testServerErrors_OpenTheCircuit() {
+        ResilienceFilter.Config config = new ResilienceFilter.Config();
+        config.setSlidingWindowSize(2);
+        config.setMinimumNumberOfCalls(2);
+        GatewayFilter filter = resilienceFilter.apply(config);
+
+        filter.filter(post("/alumni"), upstream(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO)).block();
+        filter.filter(post("/alumni"), upstream(HttpStatus.INTERNAL_SERVER_ERROR, Duration.ZERO)).block();
+        MockServerWebExchange refused = post("/alumni");
+        filter.filter(refused, upstream(HttpStatus.OK, Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getResponse().getStatusCode());
+        assertEquals("30", refused.getResponse().getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testFailedGet_IsAnsweredWithLastGoodResponse() {
+        ResilienceFilter.Config config = new ResilienceFilter.Config();
+        config.setSharedResponses(true);
+        GatewayFilter filter = resilienceFilter.apply(config);
+
+        filter.filter(get("/companies"), upstream(HttpStatus.OK, Duration.ZERO)).block();
+        MockServerWebExchange fallback = get("/companies");
+        filter.filter(fallback, exchange -> Mono.error(new IOException("Connection refused"))).block();
+
+        assertEquals(HttpStatus.OK, fallback.getResponse().getStatusCode());
+        assertEquals("STALE", fallback.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(BODY, fallback.getResponse().getBodyAsString().block());
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static MockServerWebExchange post(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(uri));
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, Duration latency) {
+        return exchange -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(latency).then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(status);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+            }));
+        });
+    }
+}
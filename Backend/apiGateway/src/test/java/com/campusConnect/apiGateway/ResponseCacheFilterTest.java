@@ -0,0 +1,131 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.AuthenticationFilter;
+import com.campusConnect.apiGateway.filters.RateLimitFilter;
+import com.campusConnect.apiGateway.filters.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"userId\":1,\"points\":120}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCacheFilter(meterRegistry, 1_000_000, 10_000, Duration.ofSeconds(5))
+                .apply(new ResponseCacheFilter.Config());
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testRepeatedGet_IsServedFromCache() {
+        MockServerWebExchange first = get("/leaderboard");
+        filter.filter(first, upstream(HttpStatus.OK, Duration.ZERO)).block();
+        MockServerWebExchange second = get("/leaderboard");
+        filter.filter(second, upstream(HttpStatus.OK, Duration.ZERO)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(0.5, meterRegistry.get("gateway.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void testConcurrentMisses_AreCoalesced() {
+        MockServerWebExchange first = get("/leaderboard?page=0");
+        MockServerWebExchange second = get("/leaderboard?page=0");
+
+        Mono.when(
+                filter.filter(first, upstream(HttpStatus.OK, Duration.ofMillis(200))),
+                filter.filter(second, upstream(HttpStatus.OK, Duration.ofMillis(200)))
+        ).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(1, meterRegistry.get("gateway.cache.requests").tag("result", "coalesced").functionCounter().count());
+    }
+
+    @Test
+    void testErrorResponse_IsNotCached() {
+        filter.filter(get("/leaderboard"), upstream(HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO)).block();
+        filter.filter(get("/leaderboard"), upstream(HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testRangeRequest_BypassesCache() {
+        filter.filter(get("/leaderboard"), upstream(HttpStatus.OK, Duration.ZERO)).block();
+        MockServerWebExchange ranged = MockServerWebExchange.from(MockServerHttpRequest.get("/leaderboard")
+                .header(HttpHeaders.RANGE, "bytes=0-9"));
+        filter.filter(ranged, upstream(HttpStatus.PARTIAL_CONTENT, Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.PARTIAL_CONTENT, ranged.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testCacheHits_KeepEachClientsOwnRateLimitState() {
+        GatewayFilter rateLimit = new RateLimitFilter(meterRegistry, 100, Duration.ofMinutes(1), 0)
+                .apply(new RateLimitFilter.Config());
+        MockServerWebExchange miss = get("/leaderboard", "1");
+        MockServerWebExchange firstClientHit = get("/leaderboard", "1");
+        MockServerWebExchange secondClientHit = get("/leaderboard", "2");
+
+        for (MockServerWebExchange exchange : new MockServerWebExchange[]{miss, firstClientHit, secondClientHit}) {
+            rateLimit.filter(exchange, limited -> filter.filter(limited, upstream(HttpStatus.OK, Duration.ZERO))).block();
+        }
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("19", miss.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertEquals("18", firstClientHit.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertEquals("19", secondClientHit.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertEquals("HIT", secondClientHit.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertNull(secondClientHit.getResponse().getHeaders().getFirst("X-Request-Id"));
+        assertEquals("application/json", secondClientHit.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    private static MockServerWebExchange get(String uri, String userId) {
+        MockServerWebExchange exchange = get(uri);
+        exchange.getAttributes().put(AuthenticationFilter.VERIFIED_CLAIMS_ATTR,
+                new VerifiedClaims(userId, "STUDENT", "sid-" + userId, Instant.now().plusSeconds(60)));
+        return exchange;
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+            response.getHeaders().set("X-Request-Id", "upstream-" + upstreamCalls.get());
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
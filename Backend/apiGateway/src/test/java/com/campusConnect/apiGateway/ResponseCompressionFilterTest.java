@@ -0,0 +1,105 @@
+package com.campusConnect.apiGateway;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.campusConnect.apiGateway.filters.ResponseCompressionFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ResponseCompressionFilterTest {
+
+    private static final String CHUNK = "{\"attendanceId\":1,\"studentId\":42,\"status\":\"PRESENT\"},";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCompressionFilter(meterRegistry, 6, 4, 4).apply(new ResponseCompressionFilter.Config());
+    }
+
+    @Test
+    void testGzipClient_GetsGzippedBodyAcrossChunks() throws IOException {
+        MockServerWebExchange exchange = get("gzip, deflate");
+
+        filter.filter(exchange, upstream(MediaType.APPLICATION_JSON, 200)).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        byte[] compressed = body(exchange);
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(CHUNK.repeat(200), new String(gunzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(CHUNK.length() * 200 - compressed.length,
+                meterRegistry.get("gateway.compression.bytes.saved").tag("encoding", "gzip").counter().count());
+    }
+
+    @Test
+    void testBrotli_IsPreferredWhenAccepted() throws IOException {
+        assumeTrue(Brotli4jLoader.isAvailable());
+        MockServerWebExchange exchange = get("gzip, br");
+
+        filter.filter(exchange, upstream(MediaType.APPLICATION_JSON, 200)).block();
+
+        assertEquals("br", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        byte[] decompressed = Decoder.decompress(body(exchange)).getDecompressedData();
+        assertEquals(CHUNK.repeat(200), new String(decompressed, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCompressedMedia_IsPassedThrough() {
+        MockServerWebExchange exchange = get("gzip");
+
+        filter.filter(exchange, upstream(MediaType.IMAGE_PNG, 200)).block();
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(CHUNK.length() * 200, body(exchange).length);
+    }
+
+    private static MockServerWebExchange get(String acceptEncoding) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/attendance")
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    private static byte[] body(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody()).map(buffer -> {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            return bytes;
+        }).block();
+    }
+
+    // streamed without a Content-Length, the way a backend sends a large list
+    private static GatewayFilterChain upstream(MediaType contentType, int chunks) {
+        return exchange -> {
+            assertNull(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            return response.writeWith(Flux.range(0, chunks)
+                    .map(i -> response.bufferFactory().wrap(CHUNK.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
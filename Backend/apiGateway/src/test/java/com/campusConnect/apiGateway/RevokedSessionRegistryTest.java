@@ -0,0 +1,55 @@
+package com.campusConnect.apiGateway;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedSessionRegistryTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private RevokedSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("[{\"sessionId\":\"s-1\",\"expiresAt\":" + expiresAt + ",\"revokedAt\":0}]")
+                    .build());
+        });
+        registry = new RevokedSessionRegistry(builder, RevokedSessionRegistry.DEFAULT_REVOCATIONS_URI);
+    }
+
+    @Test
+    void testPoll_CallsAuthServiceRevocationEndpoint() {
+        registry.poll();
+
+        URI uri = requests.get(0).url();
+        assertEquals("authService", uri.getHost());
+        // authService's server.servlet.context-path + AuthController's @RequestMapping + its @GetMapping
+        assertEquals("/campusConnect/auth" + "/auth" + "/sessions/revoked", uri.getPath());
+        assertTrue(uri.getQuery().startsWith("since="));
+    }
+
+    @Test
+    void testPoll_RevokedSessionIsRejected() {
+        registry.poll();
+
+        assertTrue(registry.isRevoked("s-1"));
+        assertFalse(registry.isRevoked("s-2"));
+    }
+}
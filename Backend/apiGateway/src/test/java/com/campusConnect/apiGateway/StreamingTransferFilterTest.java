@@ -0,0 +1,63 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.filters.StreamingTransferFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingTransferFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StreamingTransferFilter.Config config = new StreamingTransferFilter.Config();
+        config.setMaxUploadSize(DataSize.ofKilobytes(1));
+        filter = new StreamingTransferFilter(meterRegistry).apply(config);
+    }
+
+    @Test
+    void testOversizedContentLength_IsRefusedBeforeRouting() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/submissions")
+                .contentLength(5_000_000)
+                .body("ignored"));
+        AtomicBoolean routed = new AtomicBoolean();
+
+        filter.filter(exchange, e -> Mono.fromRunnable(() -> routed.set(true))).block();
+
+        assertFalse(routed.get());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+        assertEquals(1, meterRegistry.get("gateway.transfer.rejected").tag("direction", "upload").counter().count());
+    }
+
+    @Test
+    void testChunkedUploadOverLimit_FailsWhileStreaming() {
+        Flux<DataBuffer> chunks = Flux.range(0, 4)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[512]));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/submissions")
+                .body(chunks));
+        GatewayFilterChain upstream = e -> e.getRequest().getBody().then();
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> filter.filter(exchange, upstream).block());
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, error.getStatusCode());
+    }
+}
@@ -0,0 +1,96 @@
+package com.campusConnect.apiGateway;
+
+import com.campusConnect.apiGateway.dto.StudentDashboardDTO;
+import com.campusConnect.apiGateway.service.StudentDashboardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDashboardServiceTest {
+
+    private static final VerifiedClaims CLAIMS = new VerifiedClaims("42", "STUDENT", "sid", Instant.now().plusSeconds(60));
+
+    // each backend's servlet context path + controller mapping, for caller 42
+    private static final Map<String, String> BACKENDS = Map.of(
+            "classroomService/campusConnect/classroom/api/assignments/due/this-week/student/42", "[{\"id\":1,\"title\":\"Lab 3\"}]",
+            "classroomService/campusConnect/classroom/api/attendance/student/42/percentage", "87.5",
+            "chatService/campusConnect/chat/notifications/unread/count", "{\"timeStamp\":\"2026-01-01T00:00:00\",\"data\":3,\"error\":null}",
+            "gamificationService/campusConnect/gamification/api/gamification/points/total/42", "120",
+            "gamificationService/campusConnect/gamification/api/gamification/leaderboard/user/42", "{\"id\":9,\"userId\":42,\"rank\":7,\"points\":120}",
+            "opportunityService/campusConnect/opportunity/api/opportunities/active", "[{\"id\":1},{\"id\":2}]");
+
+    @Test
+    void testGetDashboard_MergesAllSections() {
+        Set<String> called = ConcurrentHashMap.newKeySet();
+        StudentDashboardDTO dashboard = service(request -> {
+            called.add(request.url().getHost() + request.url().getPath());
+            return Mono.just(respond(request.url()));
+        }).getDashboard(CLAIMS).block();
+
+        assertEquals(BACKENDS.keySet(), called);
+
+        assertEquals(1, dashboard.assignmentsDue().size());
+        assertEquals(87.5, dashboard.attendancePercentage());
+        assertEquals(3L, dashboard.unreadNotifications());
+        assertEquals(120L, dashboard.points());
+        assertEquals(7L, dashboard.rank());
+        assertEquals(2, dashboard.activeOpportunities().size());
+        assertTrue(dashboard.unavailable().isEmpty());
+    }
+
+    @Test
+    void testGetDashboard_ReturnsPartialResultWhenBackendIsSlowOrFailing() {
+        ExchangeFunction exchange = request -> {
+            String service = request.url().getHost();
+            if (service.equals("gamificationService")) {
+                return Mono.delay(Duration.ofSeconds(5)).map(ignored -> respond(request.url()));
+            }
+            if (service.equals("chatService")) {
+                return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }
+            return Mono.just(respond(request.url()));
+        };
+
+        StudentDashboardDTO dashboard = service(exchange).getDashboard(CLAIMS).block(Duration.ofSeconds(3));
+
+        assertEquals(87.5, dashboard.attendancePercentage());
+        assertNull(dashboard.points());
+        assertNull(dashboard.rank());
+        assertNull(dashboard.unreadNotifications());
+        assertEquals(List.of("unreadNotifications", "points", "rank"), dashboard.unavailable());
+    }
+
+    private static StudentDashboardService service(ExchangeFunction exchange) {
+        return new StudentDashboardService(WebClient.builder().exchangeFunction(exchange), new SimpleMeterRegistry(),
+                Duration.ofSeconds(1));
+    }
+
+    // unknown paths 404, as the backend would
+    private static ClientResponse respond(URI url) {
+        String body = BACKENDS.get(url.getHost() + url.getPath());
+        return body != null ? json(body) : ClientResponse.create(HttpStatus.NOT_FOUND).build();
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
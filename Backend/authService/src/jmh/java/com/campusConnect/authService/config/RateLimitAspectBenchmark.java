@@ -0,0 +1,72 @@
+package com.campusConnect.authService.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RateLimitAspect under contention from all cores. With sharedClient every thread hits one bucket (one busy
+ * client); without it each thread is its own client, which measures the bucket cache rather than the bucket.
+ * The limit is high enough that no call is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class RateLimitAspectBenchmark {
+
+    // stands in for Spring's request-scoped proxy: each benchmark thread sees its own current request
+    private static final ThreadLocal<String> CLIENT_IP = new ThreadLocal<>();
+
+    @Param({"true", "false"})
+    private boolean sharedClient;
+
+    private RateLimitAspect rateLimitAspect;
+    private ProceedingJoinPoint joinPoint;
+    private RateLimited rateLimited;
+    private final AtomicInteger clientCount = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Client {
+        @Setup
+        public void setUp(RateLimitAspectBenchmark benchmark) {
+            int client = benchmark.sharedClient ? 0 : benchmark.clientCount.incrementAndGet();
+            CLIENT_IP.set("10.0." + (client >> 8) + "." + (client & 0xff));
+        }
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(RateLimitAspectBenchmark.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getRemoteAddr".equals(method.getName()) ? CLIENT_IP.get() : null);
+        rateLimitAspect = new RateLimitAspect(request, new SimpleMeterRegistry(), 100_000, Duration.ofMinutes(10));
+
+        Signature signature = (Signature) Proxy.newProxyInstance(RateLimitAspectBenchmark.class.getClassLoader(),
+                new Class<?>[]{Signature.class},
+                (proxy, method, args) -> "toShortString".equals(method.getName()) ? "AuthController.login(..)" : null);
+        joinPoint = (ProceedingJoinPoint) Proxy.newProxyInstance(RateLimitAspectBenchmark.class.getClassLoader(),
+                new Class<?>[]{ProceedingJoinPoint.class},
+                (proxy, method, args) -> "getSignature".equals(method.getName()) ? signature : null);
+        rateLimited = RateLimitAspectBenchmark.class.getDeclaredMethod("limitedEndpoint").getAnnotation(RateLimited.class);
+    }
+
+    @Benchmark
+    public Object enforceRateLimit(Client client) throws Throwable {
+        return rateLimitAspect.enforceRateLimit(joinPoint, rateLimited);
+    }
+
+    @RateLimited(capacity = Integer.MAX_VALUE, periodSeconds = 60)
+    private void limitedEndpoint() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.campusConnect.authService.security;
+
+import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.entity.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login/refresh and token parsing on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "campusConnect-benchmark-secret-key-long-enough-for-hs256";
+
+    private JwtService jwtService;
+    private User user;
+    private String sessionId;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "keyId", "primary");
+        ReflectionTestUtils.setField(jwtService, "previousKeys", "");
+        ReflectionTestUtils.setField(jwtService, "legacyKeyId", "");
+        jwtService.init();
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark.user");
+        user.setEmail("benchmark.user@campus.edu");
+        user.setRole(Role.STUDENT);
+        sessionId = UUID.randomUUID().toString();
+        accessToken = jwtService.generateAccessToken(user, sessionId);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user, sessionId);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtService.getUserIdFromToken(accessToken);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Long getUserIdFromTokenContended() {
+        return jwtService.getUserIdFromToken(accessToken);
+    }
+}
@@ -1,8 +1,11 @@
 package com.campusConnect.authService.advice;
 
+import com.campusConnect.authService.exception.RateLimitExceededException;
 import com.campusConnect.authService.exception.ResourceNotFoundException;
+import com.campusConnect.authService.exception.ServiceUnavailableException;
 import com.campusConnect.authService.exception.UnAuthorisedException;
 import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -59,6 +62,28 @@ public class GlobalExceptionHandler {
         return buildErrorResponseEntity(apiError);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<?>> handleRateLimitExceeded(RateLimitExceededException exception){
+        ApiError apiError=ApiError.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .message(exception.getMessage())
+                .build();
+        return ResponseEntity.status(apiError.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ApiResponse<>(apiError));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleServiceUnavailable(ServiceUnavailableException exception){
+        ApiError apiError=ApiError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(exception.getMessage())
+                .build();
+        return ResponseEntity.status(apiError.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<>(apiError));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleInternalServerError(Exception exception){
         ApiError apiError= ApiError.builder()
@@ -20,7 +20,7 @@ public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
 
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
-        List<String> allowedRoutes=List.of("/v3/api-docs","/actuator","/login","/refresh","/change-password");
+        List<String> allowedRoutes=List.of("/v3/api-docs","/actuator","/login","/refresh","/change-password","/user/ids","/sessions/revoked");
 
         boolean isAllowed =allowedRoutes
                 .stream()
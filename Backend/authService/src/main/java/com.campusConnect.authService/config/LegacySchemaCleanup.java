@@ -0,0 +1,42 @@
+package com.campusConnect.authService.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off schema fixes that ddl-auto=update cannot express. Runs after Hibernate has updated the schema and
+ * before the schedulers start, so the outbox dispatcher never clears a body the column still refuses.
+ * Every statement is idempotent.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class LegacySchemaCleanup {
+
+    private static final List<String> STATEMENTS = List.of(
+            // tokens moved to user_token as hashes; the old columns still hold plaintext tokens
+            "ALTER TABLE users DROP COLUMN IF EXISTS verification_token",
+            "ALTER TABLE users DROP COLUMN IF EXISTS reset_token",
+            "ALTER TABLE users DROP COLUMN IF EXISTS reset_token_expiry",
+            // outbox bodies carry raw token links and are cleared once a row leaves PENDING
+            "ALTER TABLE email_outbox ALTER COLUMN body DROP NOT NULL",
+            "UPDATE email_outbox SET body = NULL WHERE status <> 'PENDING' AND body IS NOT NULL"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void apply() {
+        for (String statement : STATEMENTS) {
+            jdbcTemplate.execute(statement);
+        }
+        log.info("Legacy schema cleanup applied");
+    }
+}
@@ -1,60 +1,82 @@
 package com.campusConnect.authService.config;
 
-import io.jsonwebtoken.io.IOException;
+import com.campusConnect.authService.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitAspect {
 
     private final HttpServletRequest request;
+    private final MeterRegistry meterRegistry;
 
-    // Simple in-memory rate limiter: IP -> request count
-    private final ConcurrentHashMap<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
-    private final long RATE_LIMIT_WINDOW_MS = 60000; // 1 minute
-    private final int MAX_REQUESTS_PER_WINDOW = 10;
+    // endpoint|IP -> token bucket, refilled lazily on access and evicted once idle
+    private final Cache<String, Bucket> buckets;
 
-    @Around("@annotation(com.campusConnect.authService.config.RateLimited)")
-    public Object enforceRateLimit(ProceedingJoinPoint joinPoint) throws Throwable {
+    public RateLimitAspect(HttpServletRequest request,
+                           MeterRegistry meterRegistry,
+                           @Value("${rateLimit.maxKeys:100000}") long maxKeys,
+                           @Value("${rateLimit.idleTimeout:10m}") Duration idleTimeout) {
+        this.request = request;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Around("@annotation(rateLimited)")
+    public Object enforceRateLimit(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        String endpoint = joinPoint.getSignature().toShortString();
         String clientIp = getClientIp();
 
-        AtomicInteger count = requestCounts.computeIfAbsent(clientIp, k -> new AtomicInteger(0));
+        Bucket bucket = buckets.get(endpoint + "|" + clientIp, key -> newBucket(rateLimited));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
-        if (count.incrementAndGet() > MAX_REQUESTS_PER_WINDOW) {
-            log.warn("Rate limit exceeded for IP: {}", clientIp);
-            throw new RuntimeException("Rate limit exceeded");
+        if (!probe.isConsumed()) {
+            log.warn("Rate limit exceeded for IP: {} on {}", clientIp, endpoint);
+            meterRegistry.counter("auth.ratelimit.calls", "endpoint", endpoint, "outcome", "rejected").increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+            throw new RateLimitExceededException("Rate limit exceeded", retryAfterSeconds);
         }
 
-        try {
-            return joinPoint.proceed();
-        } finally {
-            // Reset counter after time window
-            new Thread(() -> {
-                try {
-                    Thread.sleep(RATE_LIMIT_WINDOW_MS);
-                    requestCounts.remove(clientIp);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
-        }
+        meterRegistry.counter("auth.ratelimit.calls", "endpoint", endpoint, "outcome", "allowed").increment();
+        return joinPoint.proceed();
+    }
+
+    private Bucket newBucket(RateLimited rateLimited) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(rateLimited.capacity())
+                        .refillGreedy(rateLimited.capacity(), Duration.ofSeconds(rateLimited.periodSeconds()))
+                        .build())
+                .build();
     }
 
+    // clients can send any X-Forwarded-For they like; only the right-most hop, appended by the gateway, is trusted
     private String getClientIp() {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+        if (xForwardedFor != null) {
+            String lastHop = xForwardedFor.substring(xForwardedFor.lastIndexOf(',') + 1).trim();
+            if (!lastHop.isEmpty()) {
+                return lastHop;
+            }
         }
         return request.getRemoteAddr();
     }
@@ -8,4 +8,10 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RateLimited {
+
+    /** Requests allowed per client IP within one period. */
+    int capacity() default 10;
+
+    /** Length of the refill period in seconds. */
+    long periodSeconds() default 60;
 }
@@ -1,23 +1,32 @@
 package com.campusConnect.authService.controller;
 
 import com.campusConnect.authService.config.RateLimited;
+import com.campusConnect.authService.dto.AvailabilityDTO;
 import com.campusConnect.authService.dto.ChangePasswordRequest;
 import com.campusConnect.authService.dto.ForgotPasswordRequest;
 import com.campusConnect.authService.dto.LoginDTO;
 import com.campusConnect.authService.dto.ResetPasswordRequest;
+import com.campusConnect.authService.dto.RevokedSessionDTO;
 import com.campusConnect.authService.dto.SignUpRequestDTO;
 import com.campusConnect.authService.dto.UserDTO;
 import com.campusConnect.authService.security.AuthService;
+import com.campusConnect.authService.security.RevokedSessionIndex;
+import com.campusConnect.authService.service.UserAvailabilityService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,6 +34,8 @@ import java.util.Arrays;
 public class AuthController {
 
     private final AuthService authService;
+    private final RevokedSessionIndex revokedSessionIndex;
+    private final UserAvailabilityService userAvailabilityService;
 
 
     @PostMapping("/signup")
@@ -34,10 +45,18 @@ public class AuthController {
 
     }
 
+    // called on every keystroke of the signup form
+    @GetMapping("/availability")
+    @RateLimited(capacity = 120, periodSeconds = 60)
+    public ResponseEntity<AvailabilityDTO> availability(@RequestParam(required = false) String username,
+                                                        @RequestParam(required = false) String email){
+        return ResponseEntity.ok(userAvailabilityService.checkAvailability(username, email));
+    }
+
     @PostMapping("/login")
     @RateLimited
     public ResponseEntity<String> login(@RequestBody LoginDTO loginDto, HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse){
-        String[] tokens= authService.login(loginDto);
+        String[] tokens= authService.login(loginDto, httpServletRequest.getHeader(HttpHeaders.USER_AGENT));
 
         Cookie cookie=new Cookie("refreshToken",tokens[1]);
         cookie.setHttpOnly(true);
@@ -49,17 +68,30 @@ public class AuthController {
 
     @GetMapping("/refresh")
     public ResponseEntity<String> refresh(HttpServletRequest httpServletRequest){
-        String refreshToken= Arrays.stream(httpServletRequest.getCookies())
-                .filter(cookie -> "refreshToken".equals(cookie.getName()))
-                .findFirst()
-                .map(Cookie::getValue)
-                .orElseThrow(()->new AuthenticationServiceException("Refresh token not found inside the Cookies"));
-
-        String accessToken = authService.refreshToken(refreshToken);
+        String accessToken = authService.refreshToken(getRefreshToken(httpServletRequest));
 
         return ResponseEntity.ok(accessToken);
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse){
+        authService.logout(getRefreshToken(httpServletRequest));
+
+        Cookie cookie=new Cookie("refreshToken",null);
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge(0);
+        httpServletResponse.addCookie(cookie);
+
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
+    // polled by the api gateway; since is epoch millis
+    @GetMapping("/sessions/revoked")
+    public List<RevokedSessionDTO> revokedSessions(@RequestParam long since){
+        LocalDateTime revokedAfter = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+        return revokedSessionIndex.getRevocationsSince(revokedAfter);
+    }
+
     @PutMapping("/change-password")
     public ResponseEntity<String> changePassword(@RequestBody ChangePasswordRequest request) {
         authService.changePassword(request.getOldPassword(), request.getNewPassword());
@@ -73,7 +105,7 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
-    @RateLimited
+    @RateLimited(capacity = 5, periodSeconds = 300)
     public ResponseEntity<String> forgotPassword(@RequestBody ForgotPasswordRequest request) {
         authService.forgotPassword(request.getEmail());
         return ResponseEntity.ok("Password reset email sent");
@@ -84,4 +116,15 @@ public class AuthController {
         authService.resetPassword(request.getToken(), request.getNewPassword());
         return ResponseEntity.ok("Password reset successfully");
     }
+
+    private String getRefreshToken(HttpServletRequest httpServletRequest){
+        if (httpServletRequest.getCookies() == null) {
+            throw new AuthenticationServiceException("Refresh token not found inside the Cookies");
+        }
+        return Arrays.stream(httpServletRequest.getCookies())
+                .filter(cookie -> "refreshToken".equals(cookie.getName()))
+                .findFirst()
+                .map(Cookie::getValue)
+                .orElseThrow(()->new AuthenticationServiceException("Refresh token not found inside the Cookies"));
+    }
 }
@@ -2,14 +2,26 @@ package com.campusConnect.authService.controller;
 
 import com.campusConnect.authService.dto.ProfileDTO;
 
+import com.campusConnect.authService.dto.ProfileDirectoryPageDTO;
+import com.campusConnect.authService.dto.ProfileSearchResultDTO;
 import com.campusConnect.authService.entity.enums.Branch;
 import com.campusConnect.authService.service.ProfileService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -34,6 +46,64 @@ public class ProfileController {
         return new ResponseEntity<>(profileService.getAllProfileByBranch(branch),HttpStatus.OK);
     }
 
+    @GetMapping("/directory")
+    public ResponseEntity<ProfileDirectoryPageDTO> getDirectory(@RequestParam(required = false) Long afterId,
+                                                                @RequestParam(defaultValue = "50") int size){
+        return new ResponseEntity<>(profileService.getDirectoryPage(afterId, size),HttpStatus.OK);
+    }
+
+    @GetMapping("/directory/branch/{branch}")
+    public ResponseEntity<ProfileDirectoryPageDTO> getDirectoryByBranch(@PathVariable Branch branch,
+                                                                        @RequestParam(required = false) Long afterId,
+                                                                        @RequestParam(defaultValue = "50") int size){
+        return new ResponseEntity<>(profileService.getDirectoryPageByBranch(branch, afterId, size),HttpStatus.OK);
+    }
+
+    // compact cards for member lists, in request order; users without a profile are left out
+    @PostMapping("/cards")
+    public ResponseEntity<List<RawValue>> getProfileCards(@RequestBody List<Long> userIds){
+        return new ResponseEntity<>(profileService.getProfileCards(userIds),HttpStatus.OK);
+    }
+
+    // e.g. /profile/search?skills=kafka&branch=CSE&year=3
+    @GetMapping("/search")
+    public ResponseEntity<ProfileSearchResultDTO> searchProfiles(@RequestParam(required = false) List<String> skills,
+                                                                 @RequestParam(defaultValue = "false") boolean matchAll,
+                                                                 @RequestParam(required = false) Branch branch,
+                                                                 @RequestParam(required = false) Integer year,
+                                                                 @RequestParam(required = false) String designation,
+                                                                 @RequestParam(defaultValue = "20") int limit){
+        return new ResponseEntity<>(profileService.searchProfiles(skills, matchAll, branch, year, designation, limit),HttpStatus.OK);
+    }
+
+    // CSV written row by row as the database cursor advances, so memory stays flat regardless of directory size
+    @GetMapping("/directory/export")
+    public ResponseEntity<StreamingResponseBody> exportDirectory(){
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write("id,userId,firstname,lastname,branch,year,designation\n");
+            try {
+                profileService.streamDirectory(entry -> {
+                    try {
+                        writer.write(entry.getId() + "," + entry.getUserId() + ","
+                                + csv(entry.getFirstname()) + "," + csv(entry.getLastname()) + ","
+                                + (entry.getBranch() == null ? "" : entry.getBranch().name()) + ","
+                                + entry.getYear() + "," + csv(entry.getDesignation()) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"profile-directory.csv\"")
+                .body(body);
+    }
+
     @GetMapping("/{profileId}")
     public ResponseEntity<ProfileDTO> getProfileById(@PathVariable Long profileId){
         return new ResponseEntity<>(profileService.getProfileById(profileId),HttpStatus.FOUND);
@@ -53,4 +123,14 @@ public class ProfileController {
     public ResponseEntity<ProfileDTO> getProfileByUserId(@PathVariable Long userId){
         return new ResponseEntity<>(profileService.getProfileByUserId(userId),HttpStatus.ACCEPTED);
     }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
 }
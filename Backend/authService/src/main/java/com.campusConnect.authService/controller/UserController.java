@@ -1,21 +1,34 @@
 package com.campusConnect.authService.controller;
 
+import com.campusConnect.authService.dto.UserIdDeltaDTO;
+import com.campusConnect.authService.service.UserIdSnapshotService;
 import com.campusConnect.authService.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/user")
 public class UserController {
 
+    public static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
+
     private final UserService userService;
+    private final UserIdSnapshotService userIdSnapshotService;
 
 
     @GetMapping("/{userId}")
@@ -23,4 +36,25 @@ public class UserController {
         log.info("Coming in this function");
         return userService.userExistWithId(userId);
     }
+
+    // returns only the ids that exist, so callers can diff against what they asked for
+    @PostMapping("/exists")
+    List<Long> existingUserIds(@RequestBody Set<Long> userIds){
+        return userService.getExistingUserIds(userIds);
+    }
+
+    // serialized Roaring64NavigableMap of all user ids; the version header is where deltas pick up
+    @GetMapping(value = "/ids/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    ResponseEntity<byte[]> userIdSnapshot(){
+        // version before bytes, so a rebuild in between only makes the client replay a few changes
+        long version = userIdSnapshotService.getSnapshotVersion();
+        return ResponseEntity.ok()
+                .header(SNAPSHOT_VERSION_HEADER, String.valueOf(version))
+                .body(userIdSnapshotService.getSnapshot());
+    }
+
+    @GetMapping("/ids/delta")
+    UserIdDeltaDTO userIdChangesAfter(@RequestParam Long afterVersion){
+        return userIdSnapshotService.getChangesAfter(afterVersion);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.campusConnect.authService.controller;
+
+import com.campusConnect.authService.dto.UserImportReportDTO;
+import com.campusConnect.authService.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/users/import")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    // reads the request body as it arrives, so the CSV is never held in memory
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<UserImportReportDTO> importUsers(HttpServletRequest httpServletRequest) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(httpServletRequest.getInputStream()));
+    }
+
+    // progress of running imports and the results of recent ones
+    @GetMapping
+    public ResponseEntity<List<UserImportReportDTO>> getImports() {
+        return ResponseEntity.ok(userImportService.getImports());
+    }
+}
@@ -0,0 +1,14 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDTO {
+    // null when the value was not asked about
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+}
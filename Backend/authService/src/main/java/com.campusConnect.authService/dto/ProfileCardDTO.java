@@ -0,0 +1,22 @@
+package com.campusConnect.authService.dto;
+
+import com.campusConnect.authService.entity.enums.Branch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * What member lists need to render a user: name, branch, year and designation.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileCardDTO {
+    private Long userId;
+    private Long profileId;
+    private String firstname;
+    private String lastname;
+    private Branch branch;
+    private Integer year;
+    private String designation;
+}
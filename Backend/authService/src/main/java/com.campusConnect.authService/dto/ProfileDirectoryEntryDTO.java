@@ -0,0 +1,22 @@
+package com.campusConnect.authService.dto;
+
+import com.campusConnect.authService.entity.enums.Branch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Directory columns of a profile, selected directly by ProfileRepository without loading the entity.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileDirectoryEntryDTO {
+    private Long id;
+    private Long userId;
+    private String firstname;
+    private String lastname;
+    private Branch branch;
+    private Integer year;
+    private String designation;
+}
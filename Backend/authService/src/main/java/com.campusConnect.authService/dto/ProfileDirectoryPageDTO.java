@@ -0,0 +1,16 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileDirectoryPageDTO {
+    private List<ProfileDirectoryEntryDTO> profiles;
+    // pass as afterId to fetch the next page; null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.campusConnect.authService.dto;
+
+import com.campusConnect.authService.entity.enums.Branch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSearchHitDTO {
+    private Long id;
+    private Long userId;
+    private String firstname;
+    private String lastname;
+    private Branch branch;
+    private Integer year;
+    private String designation;
+    private List<String> skills;
+}
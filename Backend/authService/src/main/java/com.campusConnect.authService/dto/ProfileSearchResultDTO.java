@@ -0,0 +1,21 @@
+package com.campusConnect.authService.dto;
+
+import com.campusConnect.authService.entity.enums.Branch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSearchResultDTO {
+    // number of matching profiles, hits holds at most the requested limit
+    private long total;
+    private List<ProfileSearchHitDTO> hits;
+    private Map<Branch, Long> branchCounts;
+    private Map<Integer, Long> yearCounts;
+    private Map<String, Long> skillCounts;
+}
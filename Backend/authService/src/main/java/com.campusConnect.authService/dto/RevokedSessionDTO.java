@@ -0,0 +1,15 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedSessionDTO {
+    private String sessionId;
+    // epoch millis after which no token of this session can still be valid
+    private long expiresAt;
+    private long revokedAt;
+}
@@ -0,0 +1,16 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIdDeltaDTO {
+    // highest version included, or the requested one when nothing changed
+    private Long version;
+    private List<Long> userIds;
+}
@@ -0,0 +1,14 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportErrorDTO {
+    private long line;
+    private String username;
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.campusConnect.authService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReportDTO {
+    private String jobId;
+    // RUNNING, COMPLETED or FAILED
+    private String status;
+    private long rowsRead;
+    private long imported;
+    private long conflicts;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // first errors only, see UserImportService.MAX_REPORTED_ERRORS
+    private List<UserImportErrorDTO> errors;
+}
@@ -1,21 +1,40 @@
 package com.campusConnect.authService.entity;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import lombok.Getter;
-import lombok.Setter;
+import jakarta.persistence.*;
+import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * One row per login. The id is carried as the "sid" claim of both the access and the refresh token.
+ */
 @Getter
 @Setter
 @Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "login_session", indexes = {
+        @Index(name = "idx_login_session_user", columnList = "userId"),
+        @Index(name = "idx_login_session_expiry", columnList = "expiry"),
+        @Index(name = "idx_login_session_revoked_at", columnList = "revokedAt")
+})
 public class LoginSession {
     @Id
     private String token;
 
+    @Column(nullable = false)
+    private Long userId;
+
     private String deviceInfo;
 
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastRefreshedAt;
+
+    @Column(nullable = false)
     private LocalDateTime expiry;
-}
\ No newline at end of file
+
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,26 @@
+package com.campusConnect.authService.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per user id added to the snapshot, in the same transaction as the user itself.
+ * Replicas poll these by version instead of by user id, since ids come from pooled sequence blocks
+ * and interleave across authService instances.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Builder
+@Table(name = "user_id_change")
+public class UserIdChange {
+    // drawn from the identity column at insert, so it tracks commit order up to the in-flight transactions
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    @Column(nullable = false)
+    private Long userId;
+}
@@ -0,0 +1,42 @@
+package com.campusConnect.authService.entity;
+
+import com.campusConnect.authService.entity.enums.TokenType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-use email verification or password reset token. Only the SHA-256 of the token is stored.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Builder
+@Table(name = "user_token", indexes = {
+        @Index(name = "idx_user_token_user_type", columnList = "userId, type"),
+        @Index(name = "idx_user_token_expires_at", columnList = "expiresAt")
+})
+public class UserToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TokenType type;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.campusConnect.authService.entity.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
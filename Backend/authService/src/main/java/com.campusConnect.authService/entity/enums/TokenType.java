@@ -0,0 +1,6 @@
+package com.campusConnect.authService.entity.enums;
+
+public enum TokenType {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
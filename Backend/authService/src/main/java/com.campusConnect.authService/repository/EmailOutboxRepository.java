@@ -0,0 +1,26 @@
+package com.campusConnect.authService.repository;
+
+import com.campusConnect.authService.entity.EmailOutbox;
+import com.campusConnect.authService.entity.enums.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // lock timeout -2 makes Hibernate emit SKIP LOCKED, so several instances can drain the outbox concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(EmailStatus status, LocalDateTime now, Pageable pageable);
+
+    @Query("select e.id from EmailOutbox e where e.status = com.campusConnect.authService.entity.enums.EmailStatus.SENT and e.sentAt < :before")
+    List<Long> findSentIdsBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.campusConnect.authService.repository;
+
+import com.campusConnect.authService.entity.LoginSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LoginSessionRepository extends JpaRepository<LoginSession, String> {
+
+    List<LoginSession> findByUserIdAndRevokedAtIsNull(Long userId);
+
+    List<LoginSession> findByRevokedAtAfterAndExpiryAfter(LocalDateTime revokedAfter, LocalDateTime now);
+
+    @Query("select s.token from LoginSession s where s.expiry < :now")
+    List<String> findExpiredTokens(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -1,11 +1,23 @@
 package com.campusConnect.authService.repository;
 
+import com.campusConnect.authService.dto.ProfileCardDTO;
+import com.campusConnect.authService.dto.ProfileDirectoryEntryDTO;
+import com.campusConnect.authService.dto.ProfileSearchHitDTO;
 import com.campusConnect.authService.entity.Profile;
 import com.campusConnect.authService.entity.enums.Branch;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ProfileRepository extends JpaRepository<Profile,Long> {
     List<Profile> findByBranch(Branch branch);
@@ -15,4 +27,26 @@ public interface ProfileRepository extends JpaRepository<Profile,Long> {
     void deleteByUserId(Long userId);
 
     Optional<Profile> findByUserId(Long userId);
+
+    String DIRECTORY_SELECT = "select new com.campusConnect.authService.dto.ProfileDirectoryEntryDTO("
+            + "p.id, p.user.id, p.firstname, p.lastname, p.branch, p.year, p.designation) from Profile p ";
+
+    @Query(DIRECTORY_SELECT + "where p.id > :afterId order by p.id")
+    List<ProfileDirectoryEntryDTO> findDirectoryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(DIRECTORY_SELECT + "where p.branch = :branch and p.id > :afterId order by p.id")
+    List<ProfileDirectoryEntryDTO> findDirectoryPageByBranch(@Param("branch") Branch branch, @Param("afterId") Long afterId, Pageable pageable);
+
+    // must be consumed inside a transaction; the fetch size makes the driver use a cursor instead of buffering every row
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(DIRECTORY_SELECT + "order by p.id")
+    Stream<ProfileDirectoryEntryDTO> streamDirectory();
+
+    @Query("select new com.campusConnect.authService.dto.ProfileSearchHitDTO("
+            + "p.id, p.user.id, p.firstname, p.lastname, p.branch, p.year, p.designation, p.skills) from Profile p")
+    List<ProfileSearchHitDTO> findAllSearchEntries();
+
+    @Query("select new com.campusConnect.authService.dto.ProfileCardDTO("
+            + "p.user.id, p.id, p.firstname, p.lastname, p.branch, p.year, p.designation) from Profile p where p.user.id in :userIds")
+    List<ProfileCardDTO> findCardsByUserIdIn(@Param("userIds") Collection<? extends Long> userIds);
 }
@@ -0,0 +1,16 @@
+package com.campusConnect.authService.repository;
+
+import com.campusConnect.authService.entity.UserIdChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface UserIdChangeRepository extends JpaRepository<UserIdChange, Long> {
+
+    List<UserIdChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Pageable pageable);
+
+    @Query("select coalesce(max(c.version), 0) from UserIdChange c")
+    Long findLatestVersion();
+}
@@ -3,9 +3,12 @@ package com.campusConnect.authService.repository;
 import com.campusConnect.authService.entity.User;
 import com.campusConnect.authService.entity.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +20,20 @@ public interface UserRepository extends JpaRepository<User,Long> {
 
      Optional<User> findByEmail(String identifier);
 
-     Optional<User> findByVerificationToken(String token);
+     boolean existsByUsername(String username);
 
-     Optional<User> findByResetToken(String token);
+     boolean existsByEmail(String email);
+
+     @Query("select u.username, u.email from User u")
+     List<Object[]> findAllUsernamesAndEmails();
+
+     @Query("select u.username, u.email from User u where u.username in :usernames or u.email in :emails")
+     List<Object[]> findTakenUsernamesAndEmails(@Param("usernames") Collection<String> usernames, @Param("emails") Collection<String> emails);
+
+
+     @Query("select u.id from User u where u.id in :userIds")
+     List<Long> findExistingIds(@Param("userIds") Collection<Long> userIds);
+
+     @Query("select u.id from User u")
+     List<Long> findAllIds();
 }
@@ -0,0 +1,25 @@
+package com.campusConnect.authService.repository;
+
+import com.campusConnect.authService.entity.UserToken;
+import com.campusConnect.authService.entity.enums.TokenType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
+
+    Optional<UserToken> findByTokenHashAndType(String tokenHash, TokenType type);
+
+    @Modifying
+    @Query("delete from UserToken t where t.userId = :userId and t.type = :type")
+    void deleteByUserIdAndType(@Param("userId") Long userId, @Param("type") TokenType type);
+
+    @Query("select t.id from UserToken t where t.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -4,12 +4,19 @@ import com.campusConnect.authService.dto.LoginDTO;
 import com.campusConnect.authService.dto.SignUpRequestDTO;
 import com.campusConnect.authService.dto.UserDTO;
 import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.entity.enums.TokenType;
 import com.campusConnect.authService.exception.ResourceNotFoundException;
 import com.campusConnect.authService.repository.UserRepository;
 import com.campusConnect.authService.service.EmailService;
+import com.campusConnect.authService.service.LoginSessionService;
+import com.campusConnect.authService.service.UserAvailabilityService;
+import com.campusConnect.authService.service.UserIdSnapshotService;
+import com.campusConnect.authService.service.UserTokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,8 +25,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
 
 
 @Service
@@ -31,51 +36,84 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final EmailService emailService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final CurrentUserProvider currentUserProvider;
+    private final UserIdSnapshotService userIdSnapshotService;
+    private final LoginSessionService loginSessionService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserTokenService userTokenService;
 
+    @Transactional
     public UserDTO signUp(SignUpRequestDTO signUpRequestDto){
 
-        User user = userRepository.findByUsername(signUpRequestDto.getUsername()).orElse(null);
-
-        if(user!=null){
-            throw  new RuntimeException("User is already present with same username");
-        }
-
         User newUser=modelMapper.map(signUpRequestDto,User.class);
         newUser.setPassword(passwordEncoder.encode(signUpRequestDto.getPassword()));
-        String token = UUID.randomUUID().toString();
-        newUser.setVerificationToken(token);
 
-        newUser =userRepository.save(newUser);
+        // the unique indexes on username and email decide, so concurrent signups cannot both succeed
+        try {
+            newUser =userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // the transaction is aborted at this point, so read the violated column from the driver's message
+            // (PostgreSQL reports "Key (email)=(...) already exists")
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).contains("(email)")) {
+                throw new RuntimeException("User is already present with same email");
+            }
+            throw new RuntimeException("User is already present with same username");
+        }
+        userIdSnapshotService.addUser(newUser.getId());
+        userAvailabilityService.addUser(newUser.getUsername(), newUser.getEmail());
 
+        String token = userTokenService.issue(newUser.getId(), TokenType.EMAIL_VERIFICATION);
         emailService.sendVerificationEmail(newUser.getEmail(), token);
 
         return modelMapper.map(newUser, UserDTO.class);
     }
 
-    public String[] login(LoginDTO loginDto){
+    public String[] login(LoginDTO loginDto, String deviceInfo){
         Authentication authentication= authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 loginDto.getIdentifier(),loginDto.getPassword()
         ));
 
         User user=(User) authentication.getPrincipal();
 
+        String sessionId = loginSessionService.createSession(user.getId(), deviceInfo);
+
         String[] arr=new String[2];
 
-        arr[0]= jwtService.generateAccessToken(user);
-        arr[1]= jwtService.generateRefreshToken(user);
+        arr[0]= jwtService.generateAccessToken(user, sessionId);
+        arr[1]= jwtService.generateRefreshToken(user, sessionId);
         return arr;
     }
 
     public String refreshToken(String refreshToken){
-        Long id= jwtService.getUserIdFromToken(refreshToken);
+        Claims claims = jwtService.parseClaims(refreshToken);
+        Long id= Long.valueOf(claims.getSubject());
 
         User user = userRepository.findById(id).orElseThrow(()-> new ResourceNotFoundException("User not found with id: "+id));
-        return jwtService.generateAccessToken(user);
+
+        String sessionId = JwtService.getSessionId(claims);
+        if (sessionId == null) {
+            // refresh token issued before sessions were tracked
+            sessionId = loginSessionService.createSession(id, null);
+        } else {
+            loginSessionService.refreshSession(sessionId, id);
+        }
+        return jwtService.generateAccessToken(user, sessionId);
+    }
+
+    public void logout(String refreshToken){
+        String sessionId = JwtService.getSessionId(jwtService.parseClaims(refreshToken));
+        if (sessionId != null) {
+            loginSessionService.revokeSession(sessionId);
+        }
     }
 
     @Transactional
     public void changePassword(String oldPassword, String newPassword) {
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        // the principal may be a cached copy; saving it would revert anything written since it was cached
+        Long currentUserId = currentUserProvider.getCurrentUserId();
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + currentUserId));
         if (!passwordEncoder.matches(oldPassword, currentUser.getPassword())) {
             throw new BadCredentialsException("Invalid old password");
         }
@@ -84,6 +122,9 @@ public class AuthService {
         }
         currentUser.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(currentUser);
+        userPrincipalCache.evict(currentUser.getId());
+        // tokens issued with the old password stop working everywhere, including this device
+        loginSessionService.revokeAllSessions(currentUser.getId());
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 currentUser,
                 currentUser.getPassword(),
@@ -94,34 +135,30 @@ public class AuthService {
 
     @Transactional
     public void verifyEmail(String token) {
-        User user = userRepository.findByVerificationToken(token)
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid verification token"));
+        Long userId = userTokenService.consume(token, TokenType.EMAIL_VERIFICATION);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setEmailVerified(true);
-        user.setVerificationToken(null);
         userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
     }
 
     @Transactional
     public void forgotPassword(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-        String token = UUID.randomUUID().toString();
-        user.setResetToken(token);
-        user.setResetTokenExpiry(LocalDateTime.now().plusMinutes(15)); // 15 minutes expiry
-        userRepository.save(user);
+        String token = userTokenService.issue(user.getId(), TokenType.PASSWORD_RESET);
         emailService.sendResetEmail(user.getEmail(), token);
     }
 
     @Transactional
     public void resetPassword(String token, String newPassword) {
-        User user = userRepository.findByResetToken(token)
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid reset token"));
-        if (user.getResetTokenExpiry().isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Reset token has expired");
-        }
+        Long userId = userTokenService.consume(token, TokenType.PASSWORD_RESET);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
         userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
+        loginSessionService.revokeAllSessions(user.getId());
     }
 }
@@ -0,0 +1,18 @@
+package com.campusConnect.authService.security;
+
+import com.campusConnect.authService.entity.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal built from verified access-token claims, used when jwt.claimsOnlyAuth is enabled.
+ */
+public record AuthenticatedUser(Long id, String username, String email, Role role) {
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.campusConnect.authService.security;
+
+import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.exception.UnAuthorisedException;
+import com.campusConnect.authService.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caller from the security context regardless of which principal JwtAuthFilter installed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private final UserService userService;
+
+    public Long getCurrentUserId() {
+        Object principal = getPrincipal();
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.id();
+        }
+        throw new UnAuthorisedException("User is not authenticated");
+    }
+
+    /**
+     * Returns the full User entity, loading it only when the principal was built from token claims.
+     */
+    public User getCurrentUser() {
+        if (getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userService.getUserById(getCurrentUserId());
+    }
+
+    private Object getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
+}
@@ -1,7 +1,7 @@
 package com.campusConnect.authService.security;
 
 import com.campusConnect.authService.entity.User;
-import com.campusConnect.authService.service.UserService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,8 +10,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,18 +21,24 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.slf4j.MDC;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Configuration
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
     private final JwtService jwtService;
+    private final RevokedSessionIndex revokedSessionIndex;
 
     @Autowired
     @Qualifier("handlerExceptionResolver")
     private HandlerExceptionResolver handlerExceptionResolver;
 
+    // build the principal from token claims instead of loading the User entity
+    @Value("${jwt.claimsOnlyAuth:false}")
+    private boolean claimsOnlyAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
@@ -43,18 +51,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
             String token = requestTokenHeader.split("Bearer ")[1];
-            Long userId = jwtService.getUserIdFromToken(token);
+
+            Claims claims = jwtService.parseClaims(token);
+            if (revokedSessionIndex.isRevoked(JwtService.getSessionId(claims))) {
+                throw new JwtException("Session has been revoked");
+            }
+
+            if (claimsOnlyAuth) {
+                AuthenticatedUser authenticatedUser = jwtService.toAuthenticatedUser(claims);
+                MDC.put("userID", String.valueOf(authenticatedUser.id()));
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    setAuthentication(request, authenticatedUser, authenticatedUser.getAuthorities());
+                }
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            Long userId = Long.valueOf(claims.getSubject());
 
             MDC.put("userID", String.valueOf(userId));
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userService.getUserById(userId);
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                authenticationToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                User user = userPrincipalCache.getUserById(userId);
+                setAuthentication(request, user, user.getAuthorities());
             }
             filterChain.doFilter(request, response);
         } catch (JwtException ex) {
@@ -63,4 +82,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             MDC.clear();
         }
     }
+
+    private void setAuthentication(HttpServletRequest request, Object principal, Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authenticationToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
 }
@@ -0,0 +1,64 @@
+package com.campusConnect.authService.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HMAC keys derived once at startup and selected by the token's kid header.
+ * New tokens are signed with the active key. Previous keys still verify the tokens they signed until they are
+ * dropped from configuration. Tokens issued before kid headers existed are verified with the legacy key.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private final String activeKeyId;
+    private final String legacyKeyId;
+    private final Map<String, SecretKey> keys = new HashMap<>();
+
+    /**
+     * @param previousKeys verification-only keys as "kid=secret,kid=secret"; may be blank
+     */
+    public JwtKeyRing(String activeKeyId, String activeSecret, String previousKeys, String legacyKeyId) {
+        this.activeKeyId = activeKeyId;
+        this.legacyKeyId = legacyKeyId == null || legacyKeyId.isBlank() ? activeKeyId : legacyKeyId;
+        keys.put(activeKeyId, toKey(activeSecret));
+        if (previousKeys != null && !previousKeys.isBlank()) {
+            for (String entry : previousKeys.split(",")) {
+                int separator = entry.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected kid=secret in jwt.previousKeys");
+                }
+                keys.putIfAbsent(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public SecretKey getActiveKey() {
+        return keys.get(activeKeyId);
+    }
+
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String keyId = header.getKeyId() != null ? header.getKeyId() : legacyKeyId;
+        SecretKey key = keys.get(keyId);
+        if (key == null) {
+            throw new JwtException("Unknown or retired signing key: " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,55 +1,105 @@
 package com.campusConnect.authService.security;
 
 import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.entity.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofHours(24);
+    public static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(30 * 6);
+
+    // login session id, shared by the access and refresh tokens of one login
+    public static final String SESSION_ID_CLAIM = "sid";
+
     @Value("${jwt.secretKey}")
     private String jwtSecretKey;
 
-    private SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    // kid of jwt.secretKey; change it together with the secret when rotating
+    @Value("${jwt.keyId:primary}")
+    private String keyId;
+
+    // keys that still verify but no longer sign, as kid=secret,kid=secret
+    @Value("${jwt.previousKeys:}")
+    private String previousKeys;
+
+    // key for tokens issued before kid headers were added
+    @Value("${jwt.legacyKeyId:}")
+    private String legacyKeyId;
+
+    private JwtKeyRing keyRing;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init(){
+        keyRing = new JwtKeyRing(keyId, jwtSecretKey, previousKeys, legacyKeyId);
+        jwtParser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
     }
 
-    public String generateAccessToken(User user){
+    public String generateAccessToken(User user, String sessionId){
         return Jwts.builder()
                 .subject(user.getId().toString())
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .claim("email",user.getEmail())
                 .claim("username",user.getUsername())
                 .claim("role",user.getRole().toString())
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis()+1000L*60*60*24))
-                .signWith(getSecretKey())
+                .expiration(new Date(System.currentTimeMillis()+ACCESS_TOKEN_TTL.toMillis()))
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .signWith(keyRing.getActiveKey())
                 .compact();
     }
 
-    public String generateRefreshToken(User user){
+    public String generateRefreshToken(User user, String sessionId){
         return Jwts.builder()
                 .subject(user.getId().toString())
+                .claim(SESSION_ID_CLAIM, sessionId)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis()+1000L*60*60*24*30*6))
-                .signWith(getSecretKey())
+                .expiration(new Date(System.currentTimeMillis()+REFRESH_TOKEN_TTL.toMillis()))
+                .header().keyId(keyRing.getActiveKeyId()).and()
+                .signWith(keyRing.getActiveKey())
                 .compact();
     }
 
+    public Claims parseClaims(String token){
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
     public Long getUserIdFromToken(String token){
-        Claims claims= Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.valueOf(claims.getSubject());
+        return Long.valueOf(parseClaims(token).getSubject());
+    }
+
+    public static String getSessionId(Claims claims){
+        return claims.get(SESSION_ID_CLAIM, String.class);
+    }
+
+    public AuthenticatedUser getAuthenticatedUserFromToken(String token){
+        return toAuthenticatedUser(parseClaims(token));
+    }
+
+    public AuthenticatedUser toAuthenticatedUser(Claims claims){
+        String role = claims.get("role", String.class);
+        if (role == null) {
+            throw new JwtException("Access token required");
+        }
+        return new AuthenticatedUser(
+                Long.valueOf(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                Role.valueOf(role));
     }
 }
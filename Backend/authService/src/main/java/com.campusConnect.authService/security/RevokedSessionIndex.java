@@ -0,0 +1,81 @@
+package com.campusConnect.authService.security;
+
+import com.campusConnect.authService.dto.RevokedSessionDTO;
+import com.campusConnect.authService.entity.LoginSession;
+import com.campusConnect.authService.repository.LoginSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked session ids, so JwtAuthFilter can reject revoked tokens without a database lookup.
+ * An entry only needs to live until the last access token of its session expires; refresh tokens are checked
+ * against the login_session table instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedSessionIndex {
+
+    // re-read a little history on every sync so revocations written by other instances are not lost to clock skew
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final LoginSessionRepository loginSessionRepository;
+
+    // session id -> epoch millis after which the entry can be dropped
+    private final Map<String, Long> revokedSessions = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSync;
+
+    public boolean isRevoked(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Long expiresAt = revokedSessions.get(sessionId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void add(RevokedSessionDTO revokedSession) {
+        revokedSessions.merge(revokedSession.getSessionId(), revokedSession.getExpiresAt(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${session.revocation.syncIntervalMs:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync == null ? now.minus(JwtService.ACCESS_TOKEN_TTL) : lastSync.minus(SYNC_OVERLAP);
+        List<RevokedSessionDTO> revocations = getRevocationsSince(since);
+        revocations.forEach(this::add);
+
+        long nowMillis = System.currentTimeMillis();
+        revokedSessions.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        lastSync = now;
+        if (!revocations.isEmpty()) {
+            log.debug("Synced {} session revocations, {} active", revocations.size(), revokedSessions.size());
+        }
+    }
+
+    public List<RevokedSessionDTO> getRevocationsSince(LocalDateTime since) {
+        return loginSessionRepository.findByRevokedAtAfterAndExpiryAfter(since, LocalDateTime.now())
+                .stream()
+                .map(RevokedSessionIndex::toRevokedSession)
+                .toList();
+    }
+
+    public static RevokedSessionDTO toRevokedSession(LoginSession session) {
+        LocalDateTime lastAccessTokenExpiry = session.getRevokedAt().plus(JwtService.ACCESS_TOKEN_TTL);
+        LocalDateTime expiresAt = session.getExpiry().isBefore(lastAccessTokenExpiry) ? session.getExpiry() : lastAccessTokenExpiry;
+        return new RevokedSessionDTO(session.getToken(), toEpochMillis(expiresAt), toEpochMillis(session.getRevokedAt()));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,48 @@
+package com.campusConnect.authService.security;
+
+import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.exception.ResourceNotFoundException;
+import com.campusConnect.authService.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals so JwtAuthFilter does not hit Postgres on every request.
+ * Anything that writes a user must call {@link #evict(Long)}, and must load the user it writes from the repository
+ * rather than take it from here: a cached principal can be minutes old, and saving it would revert newer columns.
+ */
+@Component
+public class UserPrincipalCache {
+
+    // the repository rather than UserService, so UserServiceImpl can evict without a dependency cycle
+    private final UserRepository userRepository;
+    private final Cache<Long, User> principals;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${principalCache.maxSize:10000}") long maxSize,
+                              @Value("${principalCache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principalCache");
+    }
+
+    public User getUserById(Long userId) {
+        return principals.get(userId, id -> userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User Not found with ID: " + id)));
+    }
+
+    public void evict(Long userId) {
+        principals.invalidate(userId);
+    }
+}
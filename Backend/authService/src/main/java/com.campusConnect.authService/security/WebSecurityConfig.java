@@ -1,11 +1,15 @@
 package com.campusConnect.authService.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,9 +19,13 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 import static com.campusConnect.authService.entity.enums.Role.ADMIN;
 
 @Configuration
@@ -25,8 +33,14 @@ import static com.campusConnect.authService.entity.enums.Role.ADMIN;
 @RequiredArgsConstructor
 public class WebSecurityConfig {
 
+    // shared secret other services send on calls to the /user endpoints
+    public static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     private final JwtAuthFilter jwtAuthFilter;
 
+    @Value("${internal.serviceToken}")
+    private String serviceToken;
+
     @Autowired
     @Qualifier("handlerExceptionResolver")
     private HandlerExceptionResolver handlerExceptionResolver;
@@ -39,9 +53,11 @@ public class WebSecurityConfig {
                 .sessionManagement(sessionConfig->sessionConfig.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth->auth
-                        .requestMatchers("/admin/**").hasRole(ADMIN.name())
+                        .requestMatchers("/admin/**", "/profile/directory/export").hasRole(ADMIN.name())
                         .requestMatchers("/auth/signup", "/auth/login", "/auth/refresh").permitAll()
                         .requestMatchers("/auth/change-password").authenticated()
+                        // user existence and the id snapshot are for other services, not for enumerating accounts
+                        .requestMatchers("/user/**").access(serviceCaller())
                         .anyRequest().permitAll()
                 )
                 .exceptionHandling(exHandlingConfig->exHandlingConfig.accessDeniedHandler(accessDeniedHandler()));
@@ -49,9 +65,23 @@ public class WebSecurityConfig {
         return httpSecurity.build();
     }
 
+    private AuthorizationManager<RequestAuthorizationContext> serviceCaller() {
+        byte[] expected = serviceToken.getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String presented = context.getRequest().getHeader(SERVICE_TOKEN_HEADER);
+            boolean granted = !serviceToken.isBlank() && presented != null
+                    && MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8));
+            return new AuthorizationDecision(granted);
+        };
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${bcrypt.strength:10}") int strength,
+                                           @Value("${bcrypt.threads:0}") int threads,
+                                           @Value("${bcrypt.queueCapacity:64}") int queueCapacity){
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,153 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.entity.EmailOutbox;
+import com.campusConnect.authService.entity.enums.EmailStatus;
+import com.campusConnect.authService.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in batches. Each batch is handed to the mail sender in one call,
+ * so JavaMailSenderImpl reuses a single SMTP connection for the whole batch.
+ * Bodies carry raw verification/reset links, so they are cleared as soon as a row leaves PENDING
+ * and sent rows are purged after a short retention.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    @Value("${email.outbox.batchSize:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.maxAttempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoffSeconds:30}")
+    private long backoffSeconds;
+
+    @Value("${email.outbox.sentRetentionHours:24}")
+    private long sentRetentionHours;
+
+    @Value("${email.outbox.purgeBatchSize:500}")
+    private int purgeBatchSize;
+
+    @Scheduled(fixedDelayString = "${email.outbox.pollIntervalMs:5000}")
+    @Transactional
+    public int dispatchPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                markFailed(email, e, now);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            if (!messages.isEmpty()) {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            }
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            log.warn("Email batch failed: {}", e.getMessage());
+            messages.values().forEach(email -> markFailed(email, e, now));
+            emailOutboxRepository.saveAll(batch);
+            return 0;
+        }
+
+        int sent = 0;
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure != null) {
+                markFailed(entry.getValue(), failure, now);
+            } else {
+                entry.getValue().setStatus(EmailStatus.SENT);
+                entry.getValue().setSentAt(now);
+                entry.getValue().setBody(null);
+                sent++;
+            }
+        }
+        emailOutboxRepository.saveAll(batch);
+        log.debug("Dispatched {} of {} outbox emails", sent, batch.size());
+        return sent;
+    }
+
+    // deletes in fixed-size batches, same as the token purge, so it never holds long locks on the outbox
+    @Scheduled(fixedDelayString = "${email.outbox.purgeIntervalMs:3600000}")
+    public int purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minusHours(sentRetentionHours);
+        int purged = 0;
+        List<Long> sent;
+        do {
+            sent = emailOutboxRepository.findSentIdsBefore(before, PageRequest.of(0, purgeBatchSize));
+            if (!sent.isEmpty()) {
+                emailOutboxRepository.deleteAllByIdInBatch(sent);
+                purged += sent.size();
+            }
+        } while (sent.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} sent outbox emails", purged);
+        }
+        return purged;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return mimeMessage;
+    }
+
+    private void markFailed(EmailOutbox email, Exception e, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(e.getMessage()));
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on outbox email {} after {} attempts: {}", email.getId(), attempts, e.getMessage());
+            email.setStatus(EmailStatus.FAILED);
+            email.setBody(null);
+            return;
+        }
+        // exponential backoff: 30s, 60s, 120s, ...
+        email.setNextAttemptAt(now.plusSeconds(backoffSeconds << Math.min(attempts - 1, 16)));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
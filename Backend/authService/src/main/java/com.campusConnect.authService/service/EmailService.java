@@ -1,29 +1,59 @@
 package com.campusConnect.authService.service;
 
+import com.campusConnect.authService.entity.EmailOutbox;
+import com.campusConnect.authService.entity.enums.EmailStatus;
+import com.campusConnect.authService.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes emails to the outbox in the caller's transaction; EmailOutboxDispatcher delivers them in the background.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     public void sendVerificationEmail(String to, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Email Verification");
-        message.setText("Please verify your email by clicking the link: http://localhost:8080/auth/verify?token=" + token);
-        mailSender.send(message);
+        enqueue(to, "Email Verification",
+                "Please verify your email by clicking the link: http://localhost:8080/auth/verify?token=" + token);
+    }
+
+    /**
+     * Queues one verification email per recipient (email -> token) with a single batched saveAll.
+     */
+    public void sendVerificationEmails(Map<String, String> tokensByEmail) {
+        List<EmailOutbox> emails = tokensByEmail.entrySet().stream()
+                .map(entry -> outboxEntry(entry.getKey(), "Email Verification",
+                        "Please verify your email by clicking the link: http://localhost:8080/auth/verify?token=" + entry.getValue()))
+                .toList();
+        emailOutboxRepository.saveAll(emails);
     }
 
     public void sendResetEmail(String to, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Password Reset");
-        message.setText("Please reset your password by clicking the link: http://localhost:8080/auth/reset-password?token=" + token);
-        mailSender.send(message);
+        enqueue(to, "Password Reset",
+                "Please reset your password by clicking the link: http://localhost:8080/auth/reset-password?token=" + token);
+    }
+
+    private void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(outboxEntry(to, subject, body));
+    }
+
+    private static EmailOutbox outboxEntry(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
     }
 }
@@ -0,0 +1,109 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.entity.LoginSession;
+import com.campusConnect.authService.exception.UnAuthorisedException;
+import com.campusConnect.authService.repository.LoginSessionRepository;
+import com.campusConnect.authService.security.JwtService;
+import com.campusConnect.authService.security.RevokedSessionIndex;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginSessionService {
+
+    private static final int MAX_DEVICE_INFO_LENGTH = 255;
+
+    private final LoginSessionRepository loginSessionRepository;
+    private final RevokedSessionIndex revokedSessionIndex;
+
+    @Value("${session.purge.batchSize:500}")
+    private int purgeBatchSize;
+
+    public String createSession(Long userId, String deviceInfo) {
+        LocalDateTime now = LocalDateTime.now();
+        LoginSession session = LoginSession.builder()
+                .token(UUID.randomUUID().toString())
+                .userId(userId)
+                .deviceInfo(truncate(deviceInfo))
+                .createdAt(now)
+                .expiry(now.plus(JwtService.REFRESH_TOKEN_TTL))
+                .build();
+        return loginSessionRepository.save(session).getToken();
+    }
+
+    /**
+     * Checks that the session behind a refresh token is still live and records the refresh.
+     */
+    @Transactional
+    public void refreshSession(String sessionId, Long userId) {
+        LoginSession session = loginSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new UnAuthorisedException("Session not found"));
+        LocalDateTime now = LocalDateTime.now();
+        if (!session.getUserId().equals(userId) || session.getRevokedAt() != null || session.getExpiry().isBefore(now)) {
+            throw new UnAuthorisedException("Session has expired or been revoked");
+        }
+        session.setLastRefreshedAt(now);
+        loginSessionRepository.save(session);
+    }
+
+    @Transactional
+    public void revokeSession(String sessionId) {
+        loginSessionRepository.findById(sessionId)
+                .filter(session -> session.getRevokedAt() == null)
+                .ifPresent(session -> revoke(List.of(session)));
+    }
+
+    @Transactional
+    public void revokeAllSessions(Long userId) {
+        revoke(loginSessionRepository.findByUserIdAndRevokedAtIsNull(userId));
+    }
+
+    // each batch is its own delete statement, so a large backlog never holds one long transaction
+    @Scheduled(fixedDelayString = "${session.purge.intervalMs:3600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        List<String> expired;
+        do {
+            expired = loginSessionRepository.findExpiredTokens(now, PageRequest.of(0, purgeBatchSize));
+            if (!expired.isEmpty()) {
+                loginSessionRepository.deleteAllByIdInBatch(expired);
+                purged += expired.size();
+            }
+        } while (expired.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired login sessions", purged);
+        }
+        return purged;
+    }
+
+    private void revoke(List<LoginSession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        sessions.forEach(session -> session.setRevokedAt(now));
+        loginSessionRepository.saveAll(sessions);
+        TransactionHooks.afterCommit(() -> sessions.forEach(session ->
+                revokedSessionIndex.add(RevokedSessionIndex.toRevokedSession(session))));
+    }
+
+    private static String truncate(String deviceInfo) {
+        if (deviceInfo == null) {
+            return null;
+        }
+        return deviceInfo.length() > MAX_DEVICE_INFO_LENGTH ? deviceInfo.substring(0, MAX_DEVICE_INFO_LENGTH) : deviceInfo;
+    }
+}
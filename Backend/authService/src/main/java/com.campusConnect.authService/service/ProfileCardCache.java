@@ -0,0 +1,88 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.dto.ProfileCardDTO;
+import com.campusConnect.authService.repository.ProfileRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Read-through cache of profile cards keyed by user id, holding each card as serialized JSON so a hit
+ * costs no mapping or serialization. Profile writes on this instance evict their entry; the TTL bounds
+ * how long another instance can serve a stale card.
+ */
+@Component
+public class ProfileCardCache {
+
+    // cached for user ids that have no profile, so they do not reach the database every time
+    private static final String NO_PROFILE = "";
+
+    private final ProfileRepository profileRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, String> cards;
+
+    public ProfileCardCache(ProfileRepository profileRepository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${profileCardCache.maxSize:50000}") long maxSize,
+                            @Value("${profileCardCache.ttl:10m}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.objectMapper = objectMapper;
+        this.cards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cards, "profileCardCache");
+    }
+
+    /**
+     * Returns the cards of the given users in request order, skipping users without a profile.
+     * All misses are loaded with a single IN query.
+     */
+    public List<RawValue> getCards(Collection<Long> userIds) {
+        Map<Long, String> found = cards.getAll(new LinkedHashSet<>(userIds), this::loadCards);
+        List<RawValue> result = new ArrayList<>(found.size());
+        for (String card : found.values()) {
+            if (!card.isEmpty()) {
+                result.add(new RawValue(card));
+            }
+        }
+        return result;
+    }
+
+    public void evict(Long userId) {
+        cards.invalidate(userId);
+        // this is the invalidation that protects readers: a read before commit still loads the old row and
+        // caches it again, and only the post-commit invalidation drops that copy
+        TransactionHooks.afterCommit(() -> cards.invalidate(userId));
+    }
+
+    private Map<Long, String> loadCards(Set<? extends Long> userIds) {
+        Map<Long, String> loaded = new HashMap<>();
+        for (ProfileCardDTO card : profileRepository.findCardsByUserIdIn(userIds)) {
+            loaded.put(card.getUserId(), serialize(card));
+        }
+        for (Long userId : userIds) {
+            loaded.putIfAbsent(userId, NO_PROFILE);
+        }
+        return loaded;
+    }
+
+    private String serialize(ProfileCardDTO card) {
+        try {
+            return objectMapper.writeValueAsString(card);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize profile card for user " + card.getUserId(), e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.dto.ProfileSearchHitDTO;
+import com.campusConnect.authService.dto.ProfileSearchResultDTO;
+import com.campusConnect.authService.entity.Profile;
+import com.campusConnect.authService.entity.enums.Branch;
+import com.campusConnect.authService.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over profile skills, branch, year and designation.
+ * Each term maps to a bitmap of profile ids, so filters are bitmap intersections and facet counts
+ * are intersection cardinalities; nothing touches the database after the startup rebuild.
+ * Profile ids are stored as ints, which holds for any realistic campus.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileSearchIndex {
+
+    private static final int MAX_SKILL_FACETS = 20;
+
+    private final ProfileRepository profileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap allProfiles = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> bySkill = new HashMap<>();
+    private final Map<Branch, RoaringBitmap> byBranch = new EnumMap<>(Branch.class);
+    private final Map<Integer, RoaringBitmap> byYear = new HashMap<>();
+    private final Map<String, RoaringBitmap> byDesignation = new HashMap<>();
+    private final Map<Integer, ProfileSearchHitDTO> profiles = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProfileSearchHitDTO> entries = profileRepository.findAllSearchEntries();
+        lock.writeLock().lock();
+        try {
+            allProfiles.clear();
+            bySkill.clear();
+            byBranch.clear();
+            byYear.clear();
+            byDesignation.clear();
+            profiles.clear();
+            entries.forEach(this::add);
+            allProfiles.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} profiles for search", entries.size());
+    }
+
+    /**
+     * (Re)indexes the profile once the surrounding transaction commits.
+     */
+    public void index(Profile profile) {
+        ProfileSearchHitDTO entry = new ProfileSearchHitDTO(
+                profile.getId(),
+                profile.getUser() != null ? profile.getUser().getId() : null,
+                profile.getFirstname(),
+                profile.getLastname(),
+                profile.getBranch(),
+                profile.getYear(),
+                profile.getDesignation(),
+                profile.getSkills() != null ? List.copyOf(profile.getSkills()) : List.of());
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(Math.toIntExact(entry.getId()));
+                add(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long profileId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(Math.toIntExact(profileId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Finds profiles matching every given attribute. With skills, a profile must have at least one of them
+     * (all of them when matchAll is set) and hits are ranked by how many of the skills it has.
+     */
+    public ProfileSearchResultDTO search(Collection<String> skills, boolean matchAll, Branch branch,
+                                        Integer year, String designation, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = allProfiles.clone();
+            if (branch != null) {
+                result.and(byBranch.getOrDefault(branch, new RoaringBitmap()));
+            }
+            if (year != null) {
+                result.and(byYear.getOrDefault(year, new RoaringBitmap()));
+            }
+            if (designation != null && !designation.isBlank()) {
+                result.and(byDesignation.getOrDefault(normalize(designation), new RoaringBitmap()));
+            }
+
+            List<RoaringBitmap> skillBitmaps = new ArrayList<>();
+            if (skills != null) {
+                for (String skill : new LinkedHashSet<>(skills.stream().map(ProfileSearchIndex::normalize).toList())) {
+                    skillBitmaps.add(bySkill.getOrDefault(skill, new RoaringBitmap()));
+                }
+            }
+            if (!skillBitmaps.isEmpty()) {
+                RoaringBitmap skillMatches = matchAll
+                        ? FastAggregation.and(skillBitmaps.iterator())
+                        : FastAggregation.or(skillBitmaps.iterator());
+                result.and(skillMatches);
+            }
+
+            return new ProfileSearchResultDTO(
+                    result.getLongCardinality(),
+                    topHits(result, matchAll ? List.of() : skillBitmaps, limit),
+                    branchCounts(result),
+                    yearCounts(result),
+                    skillCounts(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ProfileSearchHitDTO> topHits(RoaringBitmap result, List<RoaringBitmap> skillBitmaps, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // every hit scores the same, so the first ids in the bitmap are the answer
+        if (skillBitmaps.size() <= 1) {
+            List<ProfileSearchHitDTO> hits = new ArrayList<>(Math.min(limit, result.getCardinality()));
+            IntIterator ids = result.getIntIterator();
+            while (ids.hasNext() && hits.size() < limit) {
+                hits.add(profiles.get(ids.next()));
+            }
+            return hits;
+        }
+
+        // bounded min-heap on (score, -id), keeping the best `limit` hits
+        PriorityQueue<long[]> best = new PriorityQueue<>(limit + 1,
+                Comparator.<long[]>comparingLong(hit -> hit[0]).thenComparingLong(hit -> -hit[1]));
+        IntIterator ids = result.getIntIterator();
+        while (ids.hasNext()) {
+            int id = ids.next();
+            long score = 0;
+            for (RoaringBitmap skillBitmap : skillBitmaps) {
+                if (skillBitmap.contains(id)) {
+                    score++;
+                }
+            }
+            best.offer(new long[]{score, id});
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        LinkedList<ProfileSearchHitDTO> hits = new LinkedList<>();
+        while (!best.isEmpty()) {
+            hits.addFirst(profiles.get((int) best.poll()[1]));
+        }
+        return hits;
+    }
+
+    private Map<Branch, Long> branchCounts(RoaringBitmap result) {
+        Map<Branch, Long> counts = new EnumMap<>(Branch.class);
+        byBranch.forEach((branch, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(result, bitmap);
+            if (count > 0) {
+                counts.put(branch, count);
+            }
+        });
+        return counts;
+    }
+
+    private Map<Integer, Long> yearCounts(RoaringBitmap result) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        byYear.forEach((year, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(result, bitmap);
+            if (count > 0) {
+                counts.put(year, count);
+            }
+        });
+        return counts;
+    }
+
+    private Map<String, Long> skillCounts(RoaringBitmap result) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        bySkill.forEach((skill, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(result, bitmap);
+            if (count > 0) {
+                counts.add(Map.entry(skill, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> top = new LinkedHashMap<>();
+        counts.stream().limit(MAX_SKILL_FACETS).forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    // callers hold the write lock
+    private void add(ProfileSearchHitDTO entry) {
+        int id = Math.toIntExact(entry.getId());
+        profiles.put(id, entry);
+        allProfiles.add(id);
+        if (entry.getBranch() != null) {
+            byBranch.computeIfAbsent(entry.getBranch(), key -> new RoaringBitmap()).add(id);
+        }
+        if (entry.getYear() != null) {
+            byYear.computeIfAbsent(entry.getYear(), key -> new RoaringBitmap()).add(id);
+        }
+        if (entry.getDesignation() != null) {
+            byDesignation.computeIfAbsent(normalize(entry.getDesignation()), key -> new RoaringBitmap()).add(id);
+        }
+        if (entry.getSkills() != null) {
+            for (String skill : entry.getSkills()) {
+                bySkill.computeIfAbsent(normalize(skill), key -> new RoaringBitmap()).add(id);
+            }
+        }
+    }
+
+    // callers hold the write lock
+    private void remove(int id) {
+        ProfileSearchHitDTO previous = profiles.remove(id);
+        if (previous == null) {
+            return;
+        }
+        allProfiles.remove(id);
+        if (previous.getBranch() != null) {
+            removeFrom(byBranch, previous.getBranch(), id);
+        }
+        if (previous.getYear() != null) {
+            removeFrom(byYear, previous.getYear(), id);
+        }
+        if (previous.getDesignation() != null) {
+            removeFrom(byDesignation, normalize(previous.getDesignation()), id);
+        }
+        if (previous.getSkills() != null) {
+            for (String skill : previous.getSkills()) {
+                removeFrom(bySkill, normalize(skill), id);
+            }
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, RoaringBitmap> postings, K key, int id) {
+        RoaringBitmap bitmap = postings.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
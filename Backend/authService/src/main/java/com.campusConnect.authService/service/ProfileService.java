@@ -1,11 +1,17 @@
 package com.campusConnect.authService.service;
 
 import com.campusConnect.authService.dto.ProfileDTO;
+import com.campusConnect.authService.dto.ProfileDirectoryEntryDTO;
+import com.campusConnect.authService.dto.ProfileDirectoryPageDTO;
+import com.campusConnect.authService.dto.ProfileSearchResultDTO;
 import com.campusConnect.authService.entity.enums.Branch;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.springframework.http.HttpStatusCode;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProfileService {
 
@@ -22,4 +28,14 @@ public interface ProfileService {
     List<ProfileDTO> getAllProfileByBranch(Branch branch);
 
     ProfileDTO getProfileByUserId(Long userId);
+
+    ProfileDirectoryPageDTO getDirectoryPage(Long afterId, int size);
+
+    ProfileDirectoryPageDTO getDirectoryPageByBranch(Branch branch, Long afterId, int size);
+
+    void streamDirectory(Consumer<ProfileDirectoryEntryDTO> consumer);
+
+    List<RawValue> getProfileCards(Collection<Long> userIds);
+
+    ProfileSearchResultDTO searchProfiles(List<String> skills, boolean matchAll, Branch branch, Integer year, String designation, int limit);
 }
@@ -0,0 +1,93 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.dto.AvailabilityDTO;
+import com.campusConnect.authService.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Answers "is this username / email taken" for signup forms. Most keystrokes produce names nobody has,
+ * which the Bloom filter rules out without touching the database; only possible matches hit the unique index.
+ * The filter is advisory: signUp still relies on the unique constraints.
+ */
+@Slf4j
+@Service
+public class UserAvailabilityService {
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter takenNames;
+    // non-null while a rebuild runs, so signups during the rebuild are not lost on swap
+    private volatile BloomFilter rebuilding;
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   @Value("${availability.bloom.expectedInsertions:1000000}") long expectedInsertions,
+                                   @Value("${availability.bloom.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // the periodic rebuild picks up users created through other authService instances
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${availability.bloom.rebuildIntervalMs:600000}",
+            fixedDelayString = "${availability.bloom.rebuildIntervalMs:600000}")
+    public synchronized void rebuild() {
+        BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = filter;
+        try {
+            List<Object[]> rows = userRepository.findAllUsernamesAndEmails();
+            for (Object[] row : rows) {
+                filter.put(usernameKey((String) row[0]));
+                filter.put(emailKey((String) row[1]));
+            }
+            takenNames = filter;
+            log.info("Rebuilt availability filter with {} users", rows.size());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    public void addUser(String username, String email) {
+        for (BloomFilter filter : new BloomFilter[]{takenNames, rebuilding}) {
+            if (filter != null) {
+                filter.put(usernameKey(username));
+                filter.put(emailKey(email));
+            }
+        }
+    }
+
+    public AvailabilityDTO checkAvailability(String username, String email) {
+        Boolean usernameAvailable = null;
+        Boolean emailAvailable = null;
+        if (username != null && !username.isBlank()) {
+            usernameAvailable = !(mightBeTaken(usernameKey(username)) && userRepository.existsByUsername(username));
+        }
+        if (email != null && !email.isBlank()) {
+            emailAvailable = !(mightBeTaken(emailKey(email)) && userRepository.existsByEmail(email));
+        }
+        return new AvailabilityDTO(usernameAvailable, emailAvailable);
+    }
+
+    private boolean mightBeTaken(String key) {
+        BloomFilter filter = takenNames;
+        // before the first build every name is a possible match
+        return filter == null || filter.mightContain(key);
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+}
@@ -0,0 +1,104 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.dto.UserIdDeltaDTO;
+import com.campusConnect.authService.entity.UserIdChange;
+import com.campusConnect.authService.repository.UserIdChangeRepository;
+import com.campusConnect.authService.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compressed bitmap of every valid user id, published to services that validate user ids locally.
+ * Clients fetch the full snapshot with its version and then poll {@link #getChangesAfter(Long)} from there.
+ * Users are never deleted, so ids only ever get added.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserIdSnapshotService {
+
+    public static final int DELTA_PAGE_SIZE = 10000;
+
+    private final UserRepository userRepository;
+    private final UserIdChangeRepository userIdChangeRepository;
+
+    private final Roaring64NavigableMap userIds = new Roaring64NavigableMap();
+
+    // serialized form of userIds, rebuilt lazily after a change
+    private byte[] serializedSnapshot;
+
+    // change log version the bitmap was rebuilt at; later changes are served as deltas
+    private volatile long snapshotVersion;
+
+    // periodic rebuild also picks up users created through other authService instances
+    @Scheduled(fixedDelayString = "${userSnapshot.rebuildIntervalMs:600000}")
+    public void rebuild() {
+        // version first: changes that land between the two reads are replayed by the clients' deltas
+        long version = userIdChangeRepository.findLatestVersion();
+        List<Long> ids = userRepository.findAllIds();
+        synchronized (this) {
+            userIds.clear();
+            ids.forEach(userIds::addLong);
+            userIds.runOptimize();
+            serializedSnapshot = null;
+            snapshotVersion = version;
+        }
+        log.info("Rebuilt user id snapshot with {} users", ids.size());
+    }
+
+    public void addUser(Long userId) {
+        addUsers(List.of(userId));
+    }
+
+    /**
+     * Logs the users in the caller's transaction and adds them to the bitmap once it commits,
+     * so rolled back signups never become visible.
+     */
+    public void addUsers(Collection<Long> newUserIds) {
+        userIdChangeRepository.saveAll(newUserIds.stream()
+                .map(userId -> UserIdChange.builder().userId(userId).build())
+                .toList());
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                newUserIds.forEach(userIds::addLong);
+                serializedSnapshot = null;
+            }
+        });
+    }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public synchronized byte[] getSnapshot() {
+        if (serializedSnapshot == null) {
+            try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                 DataOutputStream out = new DataOutputStream(bytes)) {
+                userIds.serialize(out);
+                out.flush();
+                serializedSnapshot = bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return serializedSnapshot;
+    }
+
+    public UserIdDeltaDTO getChangesAfter(Long afterVersion) {
+        List<UserIdChange> changes = userIdChangeRepository.findByVersionGreaterThanOrderByVersionAsc(
+                afterVersion, PageRequest.of(0, DELTA_PAGE_SIZE));
+        long version = changes.isEmpty() ? afterVersion : changes.get(changes.size() - 1).getVersion();
+        return new UserIdDeltaDTO(version, changes.stream().map(UserIdChange::getUserId).toList());
+    }
+}
@@ -0,0 +1,318 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.dto.UserImportErrorDTO;
+import com.campusConnect.authService.dto.UserImportReportDTO;
+import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.entity.enums.Role;
+import com.campusConnect.authService.entity.enums.TokenType;
+import com.campusConnect.authService.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk account creation from a CSV stream ("username,email,role,password", header optional).
+ * Rows are read in chunks. Each chunk's passwords are hashed in parallel on a dedicated pool, sized below the
+ * CPU count so logins keep a core. The chunk is then inserted in one transaction using Hibernate JDBC batching,
+ * together with its verification emails in the outbox.
+ */
+@Slf4j
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TRACKED_JOBS = 20;
+
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final UserIdSnapshotService userIdSnapshotService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final UserTokenService userTokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ExecutorService hashPool;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // recent and running imports, oldest first
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public UserImportService(UserRepository userRepository,
+                             EmailService emailService,
+                             UserIdSnapshotService userIdSnapshotService,
+                             UserAvailabilityService userAvailabilityService,
+                             UserTokenService userTokenService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${bcrypt.strength:10}") int strength,
+                             @Value("${userImport.hashThreads:0}") int hashThreads,
+                             @Value("${userImport.batchSize:200}") int batchSize) {
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.userIdSnapshotService = userIdSnapshotService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.userTokenService = userTokenService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.batchSize = batchSize;
+
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public UserImportReportDTO importUsers(InputStream csv) {
+        ImportJob job = startJob();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.toLowerCase(Locale.ROOT).startsWith("username"))) {
+                    continue;
+                }
+                job.rowsRead.incrementAndGet();
+                ImportRow row = parse(line, lineNumber, job);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, job);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            importChunk(chunk, job);
+            job.status = "COMPLETED";
+        } catch (IOException | RuntimeException e) {
+            log.error("User import {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+            job.status = "FAILED";
+            job.addError(0, null, e.getMessage());
+        } finally {
+            job.finishedNanos = System.nanoTime();
+        }
+        UserImportReportDTO report = job.toReport();
+        log.info("User import {} {}: {} imported, {} conflicts, {} failed in {} ms ({} rows/s)", report.getJobId(),
+                report.getStatus(), report.getImported(), report.getConflicts(), report.getFailed(),
+                report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    public List<UserImportReportDTO> getImports() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(ImportJob::toReport).toList();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashPool.shutdownNow();
+    }
+
+    private ImportJob startJob() {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_TRACKED_JOBS && oldest.hasNext()) {
+                if (!"RUNNING".equals(oldest.next().status)) {
+                    oldest.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private ImportRow parse(String line, long lineNumber, ImportJob job) {
+        // the password is last so it may contain commas
+        String[] fields = line.split(",", 4);
+        if (fields.length < 4 || fields[0].isBlank() || fields[1].isBlank() || fields[3].isEmpty()) {
+            job.fail(lineNumber, fields[0].trim(), "Expected username,email,role,password");
+            return null;
+        }
+        Role role;
+        try {
+            role = Role.valueOf(fields[2].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            job.fail(lineNumber, fields[0].trim(), "Unknown role: " + fields[2].trim());
+            return null;
+        }
+        if (role == Role.ADMIN) {
+            job.fail(lineNumber, fields[0].trim(), "ADMIN accounts cannot be bulk imported");
+            return null;
+        }
+        return new ImportRow(lineNumber, fields[0].trim(), fields[1].trim(), role, fields[3]);
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportJob job) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ImportRow> accepted = rejectConflicts(chunk, job);
+
+        List<Future<User>> hashed = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            hashed.add(hashPool.submit(() -> toUser(row)));
+        }
+        List<User> users = new ArrayList<>(accepted.size());
+        for (Future<User> future : hashed) {
+            users.add(await(future));
+        }
+
+        try {
+            insert(users);
+            job.imported.addAndGet(users.size());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent signup took one of the names after the conflict check; isolate it row by row
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    insert(List.of(user));
+                    job.imported.incrementAndGet();
+                } catch (DataIntegrityViolationException rowFailure) {
+                    user.setId(null);
+                    job.conflict(accepted.get(i).line(), user.getUsername(), "Username or email already taken");
+                }
+            }
+        }
+        for (User user : users) {
+            if (user.getId() != null) {
+                userAvailabilityService.addUser(user.getUsername(), user.getEmail());
+            }
+        }
+    }
+
+    // one indexed query per chunk instead of one per row; also catches duplicates inside the chunk
+    private List<ImportRow> rejectConflicts(List<ImportRow> chunk, ImportJob job) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        chunk.forEach(row -> {
+            usernames.add(row.username());
+            emails.add(row.email());
+        });
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (Object[] taken : userRepository.findTakenUsernamesAndEmails(usernames, emails)) {
+            takenUsernames.add((String) taken[0]);
+            takenEmails.add((String) taken[1]);
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (!takenUsernames.add(row.username())) {
+                job.conflict(row.line(), row.username(), "Username already taken");
+            } else if (!takenEmails.add(row.email())) {
+                job.conflict(row.line(), row.username(), "Email already taken");
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private User toUser(ImportRow row) {
+        User user = new User();
+        user.setUsername(row.username());
+        user.setEmail(row.email());
+        user.setRole(row.role());
+        user.setPassword(passwordEncoder.encode(row.password()));
+        return user;
+    }
+
+    private void insert(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            // through the repository so a unique-key violation surfaces as DataIntegrityViolationException
+            userRepository.saveAllAndFlush(users);
+            userIdSnapshotService.addUsers(users.stream().map(User::getId).toList());
+            Map<Long, String> tokens = userTokenService.issueAll(users.stream().map(User::getId).toList(), TokenType.EMAIL_VERIFICATION);
+            Map<String, String> tokensByEmail = new LinkedHashMap<>();
+            users.forEach(user -> tokensByEmail.put(user.getEmail(), tokens.get(user.getId())));
+            emailService.sendVerificationEmails(tokensByEmail);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static User await(Future<User> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private record ImportRow(long line, String username, String email, Role role, String password) {
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<UserImportErrorDTO> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile long finishedNanos;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void conflict(long line, String username, String reason) {
+            conflicts.incrementAndGet();
+            addError(line, username, reason);
+        }
+
+        private void fail(long line, String username, String reason) {
+            failed.incrementAndGet();
+            addError(line, username, reason);
+        }
+
+        private void addError(long line, String username, String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportErrorDTO(line, username, reason));
+            }
+        }
+
+        private UserImportReportDTO toReport() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+            double rowsPerSecond = elapsedMillis == 0 ? 0 : rowsRead.get() * 1000.0 / elapsedMillis;
+            List<UserImportErrorDTO> errorsSnapshot;
+            synchronized (errors) {
+                errorsSnapshot = List.copyOf(errors);
+            }
+            return new UserImportReportDTO(id, status, rowsRead.get(), imported.get(), conflicts.get(), failed.get(),
+                    elapsedMillis, rowsPerSecond, errorsSnapshot);
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.campusConnect.authService.service;
 
 import com.campusConnect.authService.entity.User;
 
+import java.util.Collection;
+import java.util.List;
 
 public interface UserService {
 
     User getUserById(Long userId);
 
     Boolean userExistWithId(Long userId);
+
+    List<Long> getExistingUserIds(Collection<Long> userIds);
 }
@@ -0,0 +1,137 @@
+package com.campusConnect.authService.service;
+
+import com.campusConnect.authService.entity.UserToken;
+import com.campusConnect.authService.entity.enums.TokenType;
+import com.campusConnect.authService.exception.ResourceNotFoundException;
+import com.campusConnect.authService.repository.UserTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issues and redeems single-use tokens. The table holds only the token's hash under a unique index, so a lookup
+ * is one index probe and a leaked token table cannot be replayed. The raw token also sits in the outbox body
+ * until the email is dispatched, after which the dispatcher clears it.
+ */
+@Slf4j
+@Service
+public class UserTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UserTokenRepository userTokenRepository;
+    private final Duration verificationTtl;
+    private final Duration resetTtl;
+
+    @Value("${token.purge.batchSize:500}")
+    private int purgeBatchSize;
+
+    public UserTokenService(UserTokenRepository userTokenRepository,
+                            @Value("${token.verificationTtl:7d}") Duration verificationTtl,
+                            @Value("${token.resetTtl:15m}") Duration resetTtl) {
+        this.userTokenRepository = userTokenRepository;
+        this.verificationTtl = verificationTtl;
+        this.resetTtl = resetTtl;
+    }
+
+    /**
+     * Creates a token for the user, replacing any earlier token of the same type. Returns the raw token.
+     */
+    public String issue(Long userId, TokenType type) {
+        userTokenRepository.deleteByUserIdAndType(userId, type);
+        String token = newToken();
+        userTokenRepository.save(newEntry(userId, type, token, LocalDateTime.now()));
+        return token;
+    }
+
+    /**
+     * Creates tokens for freshly created users in one batched saveAll. Returns userId -> raw token.
+     */
+    public Map<Long, String> issueAll(List<Long> userIds, TokenType type) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> tokens = new LinkedHashMap<>();
+        List<UserToken> entries = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            String token = newToken();
+            tokens.put(userId, token);
+            entries.add(newEntry(userId, type, token, now));
+        }
+        userTokenRepository.saveAll(entries);
+        return tokens;
+    }
+
+    /**
+     * Redeems a token and returns the user it belongs to. The token is deleted, so it works only once.
+     */
+    public Long consume(String token, TokenType type) {
+        String label = type == TokenType.PASSWORD_RESET ? "reset" : "verification";
+        UserToken entry = userTokenRepository.findByTokenHashAndType(hash(token), type)
+                .orElseThrow(() -> new ResourceNotFoundException("Invalid " + label + " token"));
+        if (entry.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException(Character.toUpperCase(label.charAt(0)) + label.substring(1) + " token has expired");
+        }
+        userTokenRepository.delete(entry);
+        return entry.getUserId();
+    }
+
+    // deletes in fixed-size batches so the purge never holds long locks on the token table
+    @Scheduled(fixedDelayString = "${token.purge.intervalMs:3600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        List<Long> expired;
+        do {
+            expired = userTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+            if (!expired.isEmpty()) {
+                userTokenRepository.deleteAllByIdInBatch(expired);
+                purged += expired.size();
+            }
+        } while (expired.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired user tokens", purged);
+        }
+        return purged;
+    }
+
+    private UserToken newEntry(Long userId, TokenType type, String token, LocalDateTime now) {
+        Duration ttl = type == TokenType.PASSWORD_RESET ? resetTtl : verificationTtl;
+        return UserToken.builder()
+                .tokenHash(hash(token))
+                .type(type)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
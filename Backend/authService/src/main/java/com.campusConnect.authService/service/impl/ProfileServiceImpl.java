@@ -1,6 +1,9 @@
 package com.campusConnect.authService.service.impl;
 
 import com.campusConnect.authService.dto.ProfileDTO;
+import com.campusConnect.authService.dto.ProfileDirectoryEntryDTO;
+import com.campusConnect.authService.dto.ProfileDirectoryPageDTO;
+import com.campusConnect.authService.dto.ProfileSearchResultDTO;
 import com.campusConnect.authService.entity.Profile;
 import com.campusConnect.authService.entity.User;
 import com.campusConnect.authService.entity.enums.Branch;
@@ -8,35 +11,52 @@ import com.campusConnect.authService.exception.ResourceNotFoundException;
 import com.campusConnect.authService.exception.UnAuthorisedException;
 import com.campusConnect.authService.repository.ProfileRepository;
 import com.campusConnect.authService.repository.UserRepository;
+import com.campusConnect.authService.security.CurrentUserProvider;
+import com.campusConnect.authService.service.ProfileCardCache;
+import com.campusConnect.authService.service.ProfileSearchIndex;
 import com.campusConnect.authService.service.ProfileService;
 import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProfileServiceImpl implements ProfileService {
 
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+
     private final ModelMapper modelMapper;
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ProfileSearchIndex profileSearchIndex;
+    private final ProfileCardCache profileCardCache;
+
+    @Value("${profileCards.maxBatch:500}")
+    private int maxCardBatch;
 
     @Override
     public ProfileDTO profileCreation(ProfileDTO profileDTO) {
         User user=userRepository.findById(profileDTO.getUserId()).orElseThrow(()->new ResourceNotFoundException("User Not found"));
-        User user1 = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if(!user1.equals(user)){
+        if(!user.getId().equals(currentUserProvider.getCurrentUserId())){
             throw new UnAuthorisedException("This user does not own this profile with id: "+profileDTO.getUserId());
         }
         Profile profile= modelMapper.map(profileDTO, Profile.class);
         profile.setUser(user);
         profile=profileRepository.save(profile);
+        profileSearchIndex.index(profile);
+        profileCardCache.evict(user.getId());
         profileDTO=modelMapper.map(profile, ProfileDTO.class);
         return profileDTO;
     }
@@ -60,6 +80,41 @@ public class ProfileServiceImpl implements ProfileService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ProfileDirectoryPageDTO getDirectoryPage(Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        // one extra row tells us whether there is a next page
+        List<ProfileDirectoryEntryDTO> rows = profileRepository.findDirectoryPage(cursorOf(afterId), PageRequest.of(0, pageSize + 1));
+        return toDirectoryPage(rows, pageSize);
+    }
+
+    @Override
+    public ProfileDirectoryPageDTO getDirectoryPageByBranch(Branch branch, Long afterId, int size) {
+        int pageSize = clampPageSize(size);
+        List<ProfileDirectoryEntryDTO> rows = profileRepository.findDirectoryPageByBranch(branch, cursorOf(afterId), PageRequest.of(0, pageSize + 1));
+        return toDirectoryPage(rows, pageSize);
+    }
+
+    @Override
+    public void streamDirectory(Consumer<ProfileDirectoryEntryDTO> consumer) {
+        try (Stream<ProfileDirectoryEntryDTO> rows = profileRepository.streamDirectory()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<RawValue> getProfileCards(Collection<Long> userIds) {
+        if (userIds.size() > maxCardBatch) {
+            throw new IllegalArgumentException("At most " + maxCardBatch + " user ids can be requested at once");
+        }
+        return profileCardCache.getCards(userIds);
+    }
+
+    @Override
+    public ProfileSearchResultDTO searchProfiles(List<String> skills, boolean matchAll, Branch branch, Integer year, String designation, int limit) {
+        return profileSearchIndex.search(skills, matchAll, branch, year, designation, clampPageSize(limit));
+    }
+
     @Override
     public ProfileDTO getProfileByUserId(Long userId) {
         Profile profile=profileRepository.findByUserId(userId).orElseThrow(()->new ResourceNotFoundException("Profile Not found with userId: "+userId));
@@ -77,11 +132,12 @@ public class ProfileServiceImpl implements ProfileService {
     public ProfileDTO deleteProfileById(Long profileId) {
         Profile profile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile Not found with ID: " + profileId));
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!profile.getUser().getId().equals(currentUser.getId())) {
+        if (!profile.getUser().getId().equals(currentUserProvider.getCurrentUserId())) {
             throw new UnAuthorisedException("This user does not own this profile with id: " + profileId);
         }
         profileRepository.delete(profile);
+        profileSearchIndex.remove(profile.getId());
+        profileCardCache.evict(profile.getUser().getId());
         return modelMapper.map(profile, ProfileDTO.class);
     }
 
@@ -89,8 +145,7 @@ public class ProfileServiceImpl implements ProfileService {
     public ProfileDTO updateProfileById(Long profileId, ProfileDTO profileDTO) {
         Profile profile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile Not found with ID: " + profileId));
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!profile.getUser().getId().equals(currentUser.getId())) {
+        if (!profile.getUser().getId().equals(currentUserProvider.getCurrentUserId())) {
             throw new UnAuthorisedException("This user does not own this profile with id: " + profileId);
         }
         profile.setFirstname(profileDTO.getFirstname());
@@ -103,11 +158,27 @@ public class ProfileServiceImpl implements ProfileService {
         profile.setLinks(profileDTO.getLinks());
         profile.setAchievements(profileDTO.getAchievements());
         Profile updatedProfile = profileRepository.save(profile);
+        profileSearchIndex.index(updatedProfile);
+        profileCardCache.evict(updatedProfile.getUser().getId());
         ProfileDTO response = modelMapper.map(updatedProfile, ProfileDTO.class);
         response.setUserId(updatedProfile.getUser().getId());
 
         return response;
     }
 
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+    }
+
+    private static Long cursorOf(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
 
+    private static ProfileDirectoryPageDTO toDirectoryPage(List<ProfileDirectoryEntryDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new ProfileDirectoryPageDTO(rows, null);
+        }
+        List<ProfileDirectoryEntryDTO> page = rows.subList(0, pageSize);
+        return new ProfileDirectoryPageDTO(page, page.get(pageSize - 1).getId());
+    }
 }
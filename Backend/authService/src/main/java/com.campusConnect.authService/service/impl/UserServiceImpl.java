@@ -3,23 +3,33 @@ package com.campusConnect.authService.service.impl;
 import com.campusConnect.authService.entity.User;
 import com.campusConnect.authService.exception.ResourceNotFoundException;
 import com.campusConnect.authService.repository.UserRepository;
+import com.campusConnect.authService.security.UserPrincipalCache;
 import com.campusConnect.authService.service.UserService;
 
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserServiceImpl implements UserService, UserDetailsService {
+public class UserServiceImpl implements UserService, UserDetailsService, UserDetailsPasswordService {
+
+    // keeps each IN list well below driver parameter limits
+    private static final int EXISTS_CHUNK_SIZE = 1000;
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
 
     @Override
@@ -33,6 +43,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         return userRepository.existsById(userId);
     }
 
+    @Override
+    public List<Long> getExistingUserIds(Collection<Long> userIds) {
+        List<Long> ids = userIds.stream().distinct().toList();
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += EXISTS_CHUNK_SIZE) {
+            existing.addAll(userRepository.findExistingIds(ids.subList(from, Math.min(from + EXISTS_CHUNK_SIZE, ids.size()))));
+        }
+        return existing;
+    }
+
 
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
@@ -41,4 +61,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 .or(() -> userRepository.findByEmail(identifier))  // try email if username fails
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with identifier: " + identifier));
     }
+
+    // called by DaoAuthenticationProvider after a successful login when the stored hash uses an outdated cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        Long userId = ((User) userDetails).getId();
+        log.info("Rehashing password for user {} with the current BCrypt cost", userId);
+        User user = getUserById(userId);
+        user.setPassword(newEncodedPassword);
+        User saved = userRepository.save(user);
+        userPrincipalCache.evict(userId);
+        return saved;
+    }
 }
@@ -1,21 +1,35 @@
 package com.campusConnect.authService;
 
+import com.campusConnect.authService.dto.LoginDTO;
 import com.campusConnect.authService.dto.SignUpRequestDTO;
+import com.campusConnect.authService.dto.UserDTO;
 import com.campusConnect.authService.entity.User;
 import com.campusConnect.authService.entity.enums.Role;
+import com.campusConnect.authService.entity.enums.TokenType;
 import com.campusConnect.authService.repository.UserRepository;
 import com.campusConnect.authService.security.AuthService;
+import com.campusConnect.authService.security.CurrentUserProvider;
+import com.campusConnect.authService.security.JwtService;
+import com.campusConnect.authService.security.UserPrincipalCache;
 import com.campusConnect.authService.service.EmailService;
+import com.campusConnect.authService.service.LoginSessionService;
+import com.campusConnect.authService.service.UserAvailabilityService;
+import com.campusConnect.authService.service.UserTokenService;
+import com.campusConnect.authService.service.UserIdSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +53,27 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private UserIdSnapshotService userIdSnapshotService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private LoginSessionService loginSessionService;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @Mock
+    private UserTokenService userTokenService;
+
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
     @InjectMocks
     private AuthService authService;
 
@@ -59,18 +94,22 @@ class AuthServiceTest {
         User user = new User();
         user.setId(1L);
         user.setUsername("testuser");
+        user.setEmail("test@example.com");
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
         when(modelMapper.map(request, User.class)).thenReturn(user);
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        when(modelMapper.map(user, UserDTO.class)).thenReturn(new UserDTO());
+        when(userTokenService.issue(1L, TokenType.EMAIL_VERIFICATION)).thenReturn("token");
 
         // Act
         var result = authService.signUp(request);
 
         // Assert
         assertNotNull(result);
-        verify(emailService).sendVerificationEmail(eq("test@example.com"), anyString());
+        verify(emailService).sendVerificationEmail("test@example.com", "token");
+        verify(userIdSnapshotService).addUser(1L);
+        verify(userAvailabilityService).addUser("testuser", "test@example.com");
     }
 
     @Test
@@ -78,11 +117,83 @@ class AuthServiceTest {
         // Arrange
         SignUpRequestDTO request = new SignUpRequestDTO();
         request.setUsername("existinguser");
+        request.setPassword("password");
 
-        when(userRepository.findByUsername("existinguser")).thenReturn(Optional.of(new User()));
+        when(modelMapper.map(request, User.class)).thenReturn(new User());
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.signUp(request));
         assertEquals("User is already present with same username", exception.getMessage());
     }
+
+    @Test
+    void testLogin_CreatesSessionForBothTokens() {
+        // Arrange
+        LoginDTO loginDto = new LoginDTO();
+        loginDto.setIdentifier("testuser");
+        loginDto.setPassword("password");
+
+        User user = new User();
+        user.setId(1L);
+
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        when(loginSessionService.createSession(1L, "JUnit")).thenReturn("session-1");
+        when(jwtService.generateAccessToken(user, "session-1")).thenReturn("access");
+        when(jwtService.generateRefreshToken(user, "session-1")).thenReturn("refresh");
+
+        // Act
+        String[] tokens = authService.login(loginDto, "JUnit");
+
+        // Assert
+        assertArrayEquals(new String[]{"access", "refresh"}, tokens);
+        verify(loginSessionService).createSession(1L, "JUnit");
+    }
+
+    @Test
+    void testChangePassword_SavesFreshUserNotCachedPrincipal() {
+        // Arrange
+        User stored = new User();
+        stored.setId(1L);
+        stored.setPassword("oldHash");
+        stored.setRole(Role.STUDENT);
+        stored.setEmailVerified(true);
+
+        when(currentUserProvider.getCurrentUserId()).thenReturn(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(passwordEncoder.matches("old", "oldHash")).thenReturn(true);
+        when(passwordEncoder.matches("new", "oldHash")).thenReturn(false);
+        when(passwordEncoder.encode("new")).thenReturn("newHash");
+
+        // Act
+        authService.changePassword("old", "new");
+
+        // Assert
+        verify(userRepository).save(stored);
+        assertEquals("newHash", stored.getPassword());
+        assertTrue(stored.isEmailVerified());
+        verify(currentUserProvider, never()).getCurrentUser();
+        verify(userPrincipalCache).evict(1L);
+        verify(loginSessionService).revokeAllSessions(1L);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testVerifyEmail_EvictsCachedPrincipal() {
+        // Arrange
+        User stored = new User();
+        stored.setId(1L);
+
+        when(userTokenService.consume("token", TokenType.EMAIL_VERIFICATION)).thenReturn(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        // Act
+        authService.verifyEmail("token");
+
+        // Assert
+        assertTrue(stored.isEmailVerified());
+        verify(userPrincipalCache).evict(1L);
+    }
 }
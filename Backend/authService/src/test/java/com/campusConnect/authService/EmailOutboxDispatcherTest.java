@@ -0,0 +1,129 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.entity.EmailOutbox;
+import com.campusConnect.authService.entity.enums.EmailStatus;
+import com.campusConnect.authService.repository.EmailOutboxRepository;
+import com.campusConnect.authService.service.EmailOutboxDispatcher;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    void testDispatchPending_SendsWholeBatch() throws Exception {
+        EmailOutbox first = pending(1L, "first@example.com");
+        EmailOutbox second = pending(2L, "second@example.com");
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any()))
+                .thenReturn(List.of(first, second));
+
+        int sent = dispatcher(mailSender).dispatchPending();
+
+        assertEquals(2, sent);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Email Verification", received[0].getSubject());
+        assertEquals(EmailStatus.SENT, first.getStatus());
+        assertEquals(EmailStatus.SENT, second.getStatus());
+        assertNull(first.getBody());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    void testDispatchPending_BacksOffWhenServerUnavailable() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        EmailOutbox email = pending(1L, "first@example.com");
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any()))
+                .thenReturn(List.of(email));
+
+        int sent = dispatcher(mailSender).dispatchPending();
+
+        assertEquals(0, sent);
+        assertEquals(EmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals("Please verify your email", email.getBody());
+    }
+
+    @Test
+    void testDispatchPending_ClearsBodyWhenGivingUp() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        EmailOutbox email = pending(1L, "first@example.com");
+        email.setAttempts(7);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any()))
+                .thenReturn(List.of(email));
+
+        dispatcher(mailSender).dispatchPending();
+
+        assertEquals(EmailStatus.FAILED, email.getStatus());
+        assertNull(email.getBody());
+    }
+
+    @Test
+    void testPurgeSent_DeletesInBatches() {
+        when(emailOutboxRepository.findSentIdsBefore(any(), any()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        int purged = dispatcher(mailSender).purgeSent();
+
+        assertEquals(3, purged);
+        verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSenderImpl sender) {
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, sender);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 8);
+        ReflectionTestUtils.setField(dispatcher, "backoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "sentRetentionHours", 24L);
+        ReflectionTestUtils.setField(dispatcher, "purgeBatchSize", 2);
+        return dispatcher;
+    }
+
+    private static EmailOutbox pending(Long id, String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Email Verification")
+                .body("Please verify your email")
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.dto.ProfileCardDTO;
+import com.campusConnect.authService.entity.enums.Branch;
+import com.campusConnect.authService.repository.ProfileRepository;
+import com.campusConnect.authService.service.ProfileCardCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProfileCardCacheTest {
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProfileCardCache profileCardCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        profileCardCache = new ProfileCardCache(profileRepository, objectMapper, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testGetCards_LoadsMissesInOneQueryAndKeepsRequestOrder() throws Exception {
+        when(profileRepository.findCardsByUserIdIn(any())).thenReturn(List.of(
+                new ProfileCardDTO(2L, 20L, "Bea", "B", Branch.CSE, 2, "student"),
+                new ProfileCardDTO(1L, 10L, "Ada", "A", Branch.ECE, 3, "student")));
+
+        String first = objectMapper.writeValueAsString(profileCardCache.getCards(List.of(1L, 2L, 3L)));
+        String second = objectMapper.writeValueAsString(profileCardCache.getCards(List.of(3L, 1L, 2L)));
+
+        assertTrue(first.indexOf("\"userId\":1") < first.indexOf("\"userId\":2"));
+        assertEquals(2, objectMapper.readTree(second).size());
+        verify(profileRepository, times(1)).findCardsByUserIdIn(any());
+    }
+
+    @Test
+    void testEvict_ReloadsCard() {
+        when(profileRepository.findCardsByUserIdIn(any())).thenReturn(List.of());
+
+        profileCardCache.getCards(List.of(1L));
+        profileCardCache.evict(1L);
+        profileCardCache.getCards(List.of(1L));
+
+        verify(profileRepository, times(2)).findCardsByUserIdIn(any());
+    }
+}
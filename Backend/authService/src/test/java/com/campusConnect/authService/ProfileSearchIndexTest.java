@@ -0,0 +1,78 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.dto.ProfileSearchHitDTO;
+import com.campusConnect.authService.dto.ProfileSearchResultDTO;
+import com.campusConnect.authService.entity.Profile;
+import com.campusConnect.authService.entity.enums.Branch;
+import com.campusConnect.authService.repository.ProfileRepository;
+import com.campusConnect.authService.service.ProfileSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ProfileSearchIndexTest {
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    private ProfileSearchIndex profileSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(profileRepository.findAllSearchEntries()).thenReturn(List.of(
+                hit(1L, Branch.CSE, 3, List.of("Kafka", "Java")),
+                hit(2L, Branch.CSE, 3, List.of("Java")),
+                hit(3L, Branch.ECE, 3, List.of("kafka")),
+                hit(4L, Branch.CSE, 2, List.of("Kafka", "Java", "Spring"))));
+        profileSearchIndex = new ProfileSearchIndex(profileRepository);
+        profileSearchIndex.rebuild();
+    }
+
+    @Test
+    void testSearch_FiltersByAttributesAndSkill() {
+        ProfileSearchResultDTO result = profileSearchIndex.search(List.of("KAFKA"), false, Branch.CSE, 3, null, 10);
+
+        assertEquals(1, result.getTotal());
+        assertEquals(1L, result.getHits().get(0).getId());
+        assertEquals(1L, result.getSkillCounts().get("java"));
+    }
+
+    @Test
+    void testSearch_RanksBySkillsMatchedAndCountsFacets() {
+        ProfileSearchResultDTO result = profileSearchIndex.search(List.of("kafka", "java", "spring"), false, null, null, null, 2);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of(4L, 1L), result.getHits().stream().map(ProfileSearchHitDTO::getId).toList());
+        assertEquals(3L, result.getBranchCounts().get(Branch.CSE));
+        assertEquals(3L, result.getYearCounts().get(3));
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousTerms() {
+        Profile profile = Profile.builder()
+                .id(2L)
+                .firstname("first")
+                .lastname("last")
+                .branch(Branch.ECE)
+                .year(3)
+                .designation("student")
+                .skills(List.of("Kafka"))
+                .build();
+
+        profileSearchIndex.index(profile);
+
+        assertEquals(1, profileSearchIndex.search(List.of("java"), false, Branch.CSE, 3, null, 10).getTotal());
+        assertEquals(2, profileSearchIndex.search(List.of("kafka"), false, Branch.ECE, null, null, 10).getTotal());
+    }
+
+    private static ProfileSearchHitDTO hit(Long id, Branch branch, Integer year, List<String> skills) {
+        return new ProfileSearchHitDTO(id, id + 100, "first", "last", branch, year, "student", skills);
+    }
+}
@@ -0,0 +1,75 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.config.RateLimitAspect;
+import com.campusConnect.authService.config.RateLimited;
+import com.campusConnect.authService.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class RateLimitAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private MockHttpServletRequest request;
+    private RateLimitAspect rateLimitAspect;
+    private RateLimited rateLimited;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.5");
+        rateLimitAspect = new RateLimitAspect(request, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        rateLimited = RateLimitAspectTest.class.getDeclaredMethod("limitedEndpoint").getAnnotation(RateLimited.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.toShortString()).thenReturn("AuthController.login(..)");
+        when(joinPoint.proceed()).thenReturn("ok");
+    }
+
+    @Test
+    void testSpoofedForwardedFor_DoesNotResetBucket() throws Throwable {
+        // Arrange
+        request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+        rateLimitAspect.enforceRateLimit(joinPoint, rateLimited);
+        rateLimitAspect.enforceRateLimit(joinPoint, rateLimited);
+
+        // Act: the client rotates the left-most entry, the gateway still appends its real address
+        request.removeHeader("X-Forwarded-For");
+        request.addHeader("X-Forwarded-For", "2.2.2.2, 203.0.113.7");
+
+        // Assert
+        assertThrows(RateLimitExceededException.class, () -> rateLimitAspect.enforceRateLimit(joinPoint, rateLimited));
+    }
+
+    @Test
+    void testNoForwardedFor_UsesRemoteAddress() throws Throwable {
+        // Arrange
+        rateLimitAspect.enforceRateLimit(joinPoint, rateLimited);
+        rateLimitAspect.enforceRateLimit(joinPoint, rateLimited);
+
+        // Act
+        request.setRemoteAddr("10.0.0.6");
+
+        // Assert
+        assertEquals("ok", rateLimitAspect.enforceRateLimit(joinPoint, rateLimited));
+    }
+
+    @RateLimited(capacity = 2)
+    private void limitedEndpoint() {
+    }
+}
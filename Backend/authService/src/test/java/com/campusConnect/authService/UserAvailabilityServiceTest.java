@@ -0,0 +1,54 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.dto.AvailabilityDTO;
+import com.campusConnect.authService.repository.UserRepository;
+import com.campusConnect.authService.service.UserAvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAvailabilityService userAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.findAllUsernamesAndEmails())
+                .thenReturn(List.<Object[]>of(new Object[]{"taken", "taken@example.com"}));
+        userAvailabilityService = new UserAvailabilityService(userRepository, 1000, 0.01);
+        userAvailabilityService.rebuild();
+    }
+
+    @Test
+    void testCheckAvailability_UnseenNameSkipsDatabase() {
+        AvailabilityDTO result = userAvailabilityService.checkAvailability("fresh-name", null);
+
+        assertTrue(result.getUsernameAvailable());
+        assertNull(result.getEmailAvailable());
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void testCheckAvailability_PossibleMatchIsConfirmedByLookup() {
+        when(userRepository.existsByUsername("taken")).thenReturn(true);
+
+        userAvailabilityService.addUser("later", "later@example.com");
+        AvailabilityDTO result = userAvailabilityService.checkAvailability("taken", "later@example.com");
+
+        assertFalse(result.getUsernameAvailable());
+        // the filter says maybe, the index says no such email
+        assertTrue(result.getEmailAvailable());
+        verify(userRepository).existsByEmail("later@example.com");
+    }
+}
@@ -0,0 +1,172 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.dto.UserImportErrorDTO;
+import com.campusConnect.authService.dto.UserImportReportDTO;
+import com.campusConnect.authService.entity.User;
+import com.campusConnect.authService.repository.UserRepository;
+import com.campusConnect.authService.service.EmailService;
+import com.campusConnect.authService.service.UserAvailabilityService;
+import com.campusConnect.authService.service.UserIdSnapshotService;
+import com.campusConnect.authService.service.UserImportService;
+import com.campusConnect.authService.service.UserTokenService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserIdSnapshotService userIdSnapshotService;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @Mock
+    private UserTokenService userTokenService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Integer> insertSizes = new ArrayList<>();
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        when(userRepository.findTakenUsernamesAndEmails(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            insertSizes.add(users.size());
+            users.forEach(user -> user.setId(ids.incrementAndGet()));
+            return users;
+        });
+        when(userTokenService.issueAll(anyList(), any())).thenAnswer(invocation -> {
+            Map<Long, String> tokens = new HashMap<>();
+            List<Long> userIds = invocation.getArgument(0);
+            userIds.forEach(id -> tokens.put(id, "token-" + id));
+            return tokens;
+        });
+        userImportService = new UserImportService(userRepository, emailService, userIdSnapshotService,
+                userAvailabilityService, userTokenService, transactionManager, 4, 2, 2);
+        ReflectionTestUtils.setField(userImportService, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.destroy();
+    }
+
+    @Test
+    void testImport_InsertsOneBatchPerChunk() {
+        // Arrange
+        String csv = """
+                username,email,role,password
+                alice,alice@campus.edu,STUDENT,pw1
+                bob,bob@campus.edu,STUDENT,pw2
+                carol,carol@campus.edu,TEACHER,pw3
+                dave,dave@campus.edu,STUDENT,pw4
+                erin,erin@campus.edu,STUDENT,pw,with,commas
+                """;
+
+        // Act
+        UserImportReportDTO report = userImportService.importUsers(stream(csv));
+
+        // Assert
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(5, report.getRowsRead());
+        assertEquals(5, report.getImported());
+        assertEquals(List.of(2, 2, 1), insertSizes);
+        verify(userIdSnapshotService, times(3)).addUsers(anyList());
+        verify(emailService, times(3)).sendVerificationEmails(anyMap());
+    }
+
+    @Test
+    void testImport_RejectsDuplicatesInFileAndExistingUsers() {
+        // Arrange
+        userImportService = new UserImportService(userRepository, emailService, userIdSnapshotService,
+                userAvailabilityService, userTokenService, transactionManager, 4, 2, 10);
+        ReflectionTestUtils.setField(userImportService, "entityManager", entityManager);
+        List<Object[]> taken = new ArrayList<>();
+        taken.add(new Object[]{"someoneElse", "bob@campus.edu"});
+        when(userRepository.findTakenUsernamesAndEmails(anyCollection(), anyCollection())).thenReturn(taken);
+        String csv = """
+                alice,alice@campus.edu,STUDENT,pw1
+                bob,bob@campus.edu,STUDENT,pw2
+                alice,alice2@campus.edu,STUDENT,pw3
+                carol,alice@campus.edu,STUDENT,pw4
+                """;
+
+        // Act
+        UserImportReportDTO report = userImportService.importUsers(stream(csv));
+
+        // Assert
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getConflicts());
+        assertEquals(List.of(1), insertSizes);
+        assertEquals(List.of("Email already taken", "Username already taken", "Email already taken"),
+                report.getErrors().stream().map(UserImportErrorDTO::getReason).toList());
+    }
+
+    @Test
+    void testConcurrentSignup_FallsBackToRowByRowInsert() {
+        // Arrange
+        when(userRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(invocation -> {
+                    List<User> users = invocation.getArgument(0);
+                    users.forEach(user -> user.setId(ids.incrementAndGet()));
+                    return users;
+                })
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        String csv = """
+                alice,alice@campus.edu,STUDENT,pw1
+                bob,bob@campus.edu,STUDENT,pw2
+                """;
+
+        // Act
+        UserImportReportDTO report = userImportService.importUsers(stream(csv));
+
+        // Assert
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getConflicts());
+        assertEquals("bob", report.getErrors().get(0).getUsername());
+        verify(userIdSnapshotService).addUsers(List.of(1L));
+        verify(userAvailabilityService).addUser("alice", "alice@campus.edu");
+        verify(userAvailabilityService, never()).addUser(eq("bob"), anyString());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
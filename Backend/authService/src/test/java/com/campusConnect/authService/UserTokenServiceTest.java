@@ -0,0 +1,70 @@
+package com.campusConnect.authService;
+
+import com.campusConnect.authService.entity.UserToken;
+import com.campusConnect.authService.entity.enums.TokenType;
+import com.campusConnect.authService.exception.ResourceNotFoundException;
+import com.campusConnect.authService.repository.UserTokenRepository;
+import com.campusConnect.authService.service.UserTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserTokenServiceTest {
+
+    @Mock
+    private UserTokenRepository userTokenRepository;
+
+    private UserTokenService userTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userTokenService = new UserTokenService(userTokenRepository, Duration.ofDays(7), Duration.ofMinutes(15));
+    }
+
+    @Test
+    void testIssueAndConsume_StoresOnlyTheHash() {
+        ArgumentCaptor<UserToken> saved = ArgumentCaptor.forClass(UserToken.class);
+
+        String token = userTokenService.issue(1L, TokenType.PASSWORD_RESET);
+
+        verify(userTokenRepository).deleteByUserIdAndType(1L, TokenType.PASSWORD_RESET);
+        verify(userTokenRepository).save(saved.capture());
+        UserToken entry = saved.getValue();
+        assertNotEquals(token, entry.getTokenHash());
+        assertEquals(64, entry.getTokenHash().length());
+        assertTrue(entry.getExpiresAt().isBefore(LocalDateTime.now().plusMinutes(16)));
+
+        when(userTokenRepository.findByTokenHashAndType(entry.getTokenHash(), TokenType.PASSWORD_RESET))
+                .thenReturn(Optional.of(entry));
+        assertEquals(1L, userTokenService.consume(token, TokenType.PASSWORD_RESET));
+        verify(userTokenRepository).delete(entry);
+    }
+
+    @Test
+    void testConsume_RejectsUnknownAndExpiredTokens() {
+        when(userTokenRepository.findByTokenHashAndType(anyString(), eq(TokenType.EMAIL_VERIFICATION)))
+                .thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> userTokenService.consume("nope", TokenType.EMAIL_VERIFICATION));
+
+        UserToken expired = UserToken.builder().userId(1L).expiresAt(LocalDateTime.now().minusMinutes(1)).build();
+        when(userTokenRepository.findByTokenHashAndType(anyString(), eq(TokenType.PASSWORD_RESET)))
+                .thenReturn(Optional.of(expired));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userTokenService.consume("old", TokenType.PASSWORD_RESET));
+        assertEquals("Reset token has expired", exception.getMessage());
+        verify(userTokenRepository, never()).delete(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.campusConnect.chatService.auth;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,8 +13,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Component
 public class FeinClientInterceptor implements RequestInterceptor {
 
+    // authService answers its /user endpoints only to callers presenting the shared service token
+    @Value("${internal.serviceToken}")
+    private String serviceToken;
+
     @Override
     public void apply(RequestTemplate requestTemplate) {
+        requestTemplate.header("X-Service-Token", serviceToken);
         Long userId = UserContextHolder.getCurrentUserId();
         if(userId != null) {
             requestTemplate.header("X-User-Id", userId.toString());
@@ -0,0 +1,73 @@
+package com.campusConnect.chatService.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * User-existence checks answered from the local UserIdReplica when possible,
+ * then from a bounded cache of ids authService has confirmed.
+ * Only positive answers are cached, so a newly created user is never reported missing.
+ */
+@Component
+public class CachedUserClient {
+
+    private final UserClient userClient;
+    private final UserIdReplica userIdReplica;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public CachedUserClient(UserClient userClient,
+                            UserIdReplica userIdReplica,
+                            @Value("${userCache.maxSize:50000}") long maxSize,
+                            @Value("${userCache.ttl:10m}") Duration ttl) {
+        this.userClient = userClient;
+        this.userIdReplica = userIdReplica;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean userExistWithId(Long userId) {
+        if (userIdReplica.contains(userId) || knownUsers.getIfPresent(userId) != null) {
+            return true;
+        }
+        boolean exists = Boolean.TRUE.equals(userClient.userExistWithId(userId).getBody().getData());
+        if (exists) {
+            knownUsers.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    /**
+     * Returns the subset of userIds that exist, using at most one call to authService.
+     */
+    public Set<Long> existingUserIds(Collection<Long> userIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long userId : new HashSet<>(userIds)) {
+            if (userIdReplica.contains(userId) || knownUsers.getIfPresent(userId) != null) {
+                existing.add(userId);
+            } else {
+                unknown.add(userId);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            List<Long> found = userClient.existingUserIds(unknown).getBody().getData();
+            for (Long userId : found) {
+                knownUsers.put(userId, Boolean.TRUE);
+                existing.add(userId);
+            }
+        }
+        return existing;
+    }
+}
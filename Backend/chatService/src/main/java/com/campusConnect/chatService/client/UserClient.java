@@ -1,11 +1,18 @@
 package com.campusConnect.chatService.client;
 
 import com.campusConnect.chatService.advice.ApiResponse;
+import com.campusConnect.chatService.dto.UserIdDeltaDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "authService", url = "http://localhost:8080", path = "api/v1/campusConnect/auth")
 //@FeignClient(name = "authService", url = "http://localhost:8080", path = "api/v1/campusConnect/auth")
@@ -13,6 +20,14 @@ public interface UserClient {
 
     @GetMapping("/user/{userId}")
     ResponseEntity<ApiResponse<Boolean>> userExistWithId(@PathVariable("userId") Long userId);
-}
 
+    @PostMapping("/user/exists")
+    ResponseEntity<ApiResponse<List<Long>>> existingUserIds(@RequestBody Collection<Long> userIds);
+
+    @GetMapping("/user/ids/snapshot")
+    ResponseEntity<byte[]> userIdSnapshot();
+
+    @GetMapping("/user/ids/delta")
+    UserIdDeltaDTO userIdChangesAfter(@RequestParam("afterVersion") Long afterVersion);
+}
 
@@ -0,0 +1,108 @@
+package com.campusConnect.chatService.client;
+
+import com.campusConnect.chatService.dto.UserIdDeltaDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Local copy of authService's user id bitmap: a full snapshot refreshed periodically plus polled deltas.
+ * Users are never deleted, so a hit is authoritative; a miss may be a user created since the last sync,
+ * so callers fall back to HTTP.
+ */
+@Slf4j
+@Component
+public class UserIdReplica {
+
+    // must match authService's delta page size
+    private static final int DELTA_PAGE_SIZE = 10000;
+
+    // versions are drawn at insert, not commit, so each poll re-reads this many to catch late commits
+    private static final long DELTA_OVERLAP = 1000;
+
+    private static final String SNAPSHOT_VERSION_HEADER = "X-Snapshot-Version";
+
+    private final UserClient userClient;
+    private final long staleAfterMillis;
+
+    // replaced wholesale on every sync, never mutated once published
+    private volatile Roaring64NavigableMap userIds;
+    private volatile long version;
+    private volatile long lastSyncMillis;
+
+    public UserIdReplica(UserClient userClient,
+                         @Value("${userSnapshot.staleAfterMs:60000}") long staleAfterMillis) {
+        this.userClient = userClient;
+        this.staleAfterMillis = staleAfterMillis;
+    }
+
+    public boolean contains(Long userId) {
+        Roaring64NavigableMap current = userIds;
+        return current != null && isFresh() && current.contains(userId);
+    }
+
+    public boolean isFresh() {
+        return System.currentTimeMillis() - lastSyncMillis < staleAfterMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${userSnapshot.fullRefreshMs:300000}")
+    public synchronized void refreshSnapshot() {
+        try {
+            ResponseEntity<byte[]> snapshot = userClient.userIdSnapshot();
+            Roaring64NavigableMap fresh = new Roaring64NavigableMap();
+            fresh.deserialize(new DataInputStream(new ByteArrayInputStream(snapshot.getBody())));
+            version = Long.parseLong(snapshot.getHeaders().getFirst(SNAPSHOT_VERSION_HEADER));
+            userIds = fresh;
+            lastSyncMillis = System.currentTimeMillis();
+            log.info("Loaded user id snapshot with {} users at version {}", fresh.getLongCardinality(), version);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load user id snapshot: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${userSnapshot.deltaIntervalMs:10000}")
+    public synchronized void pollDelta() {
+        Roaring64NavigableMap current = userIds;
+        if (current == null) {
+            return;
+        }
+        try {
+            Roaring64NavigableMap next = null;
+            long afterVersion = Math.max(0, version - DELTA_OVERLAP);
+            UserIdDeltaDTO delta;
+            do {
+                delta = userClient.userIdChangesAfter(afterVersion);
+                for (Long userId : delta.getUserIds()) {
+                    if (!current.contains(userId)) {
+                        if (next == null) {
+                            next = cloneOf(current);
+                        }
+                        next.addLong(userId);
+                    }
+                }
+                afterVersion = delta.getVersion();
+            } while (delta.getUserIds().size() == DELTA_PAGE_SIZE);
+
+            if (next != null) {
+                userIds = next;
+            }
+            version = Math.max(version, afterVersion);
+            lastSyncMillis = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            log.warn("Could not poll user id delta: {}", e.getMessage());
+        }
+    }
+
+    private static Roaring64NavigableMap cloneOf(Roaring64NavigableMap source) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        copy.or(source);
+        return copy;
+    }
+}
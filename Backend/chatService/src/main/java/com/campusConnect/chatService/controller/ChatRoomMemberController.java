@@ -23,6 +23,11 @@ public class ChatRoomMemberController {
 
     }
 
+    @PostMapping("/chatRoom/{chatRoomId}")
+    public ResponseEntity<List<ChatRoomMemberDTO>> chatRoomMembersCreation(@PathVariable String chatRoomId, @RequestBody List<ChatRoomMemberDTO> chatRoomMemberDTOs) {
+        return new ResponseEntity<>(chatRoomMemberService.chatRoomMembersCreation(chatRoomId, chatRoomMemberDTOs), HttpStatus.CREATED);
+    }
+
     @GetMapping()
     public ResponseEntity<List<ChatRoomMemberDTO>> getAllChatRoomMember(){
         return new ResponseEntity<>(chatRoomMemberService.getAllChatRoomMember(),HttpStatus.OK);
@@ -33,6 +33,12 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getAllNotifications());
     }
 
+    // unread count of the calling user, for badges and the student dashboard
+    @GetMapping("/unread/count")
+    public ResponseEntity<Long> countUnreadNotifications() {
+        return ResponseEntity.ok(notificationService.countUnreadNotifications());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<NotificationDTO> updateNotification(@PathVariable String id,
                                                               @Valid @RequestBody NotificationDTO notificationDTO) {
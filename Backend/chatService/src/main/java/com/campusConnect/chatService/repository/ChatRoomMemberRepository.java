@@ -4,6 +4,7 @@ import com.campusConnect.chatService.document.ChatRoomMember;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +16,6 @@ public interface ChatRoomMemberRepository extends MongoRepository<ChatRoomMember
     void deleteByChatRoomId(String chatRoomId);
 
     Optional<ChatRoomMember> findByChatRoomIdAndUserId(String chatRoomId, Long userId);
+
+    List<ChatRoomMember> findByChatRoomIdAndUserIdIn(String chatRoomId, Collection<Long> userIds);
 }
\ No newline at end of file
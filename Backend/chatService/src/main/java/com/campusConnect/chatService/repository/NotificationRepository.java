@@ -6,4 +6,6 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NotificationRepository extends MongoRepository<Notification, String> {
+
+    long countByUserIdAndIsReadFalse(Long userId);
 }
@@ -9,6 +9,8 @@ import java.util.Optional;
 public interface ChatRoomMemberService {
     ChatRoomMemberDTO chatRoomMemberCreation(@Valid ChatRoomMemberDTO chatRoomMemberDTO);
 
+    List<ChatRoomMemberDTO> chatRoomMembersCreation(String chatRoomId, List<ChatRoomMemberDTO> chatRoomMemberDTOs);
+
     List<ChatRoomMemberDTO> getAllChatRoomMember();
 
     ChatRoomMemberDTO getChatRoomMemberById(String chatRoomMemberId);
@@ -12,6 +12,8 @@ public interface NotificationService {
 
     List<NotificationDTO> getAllNotifications();
 
+    long countUnreadNotifications();
+
     NotificationDTO updateNotification(String id, NotificationDTO notificationDTO);
 
     void deleteNotification(String id);
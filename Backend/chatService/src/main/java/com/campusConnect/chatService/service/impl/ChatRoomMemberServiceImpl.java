@@ -1,6 +1,6 @@
 package com.campusConnect.chatService.service.impl;
 
-import com.campusConnect.chatService.client.UserClient;
+import com.campusConnect.chatService.client.CachedUserClient;
 import com.campusConnect.chatService.dto.ChatRoomMemberDTO;
 import com.campusConnect.chatService.document.ChatRoomMember;
 import com.campusConnect.chatService.exception.ResourceNotFoundException;
@@ -13,8 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +27,7 @@ public class ChatRoomMemberServiceImpl implements ChatRoomMemberService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomMemberRepository chatRoomMemberRepository;
-    private final UserClient userClient;
+    private final CachedUserClient cachedUserClient;
     private final MapperUtils mapperUtils;
 
 
@@ -35,7 +38,7 @@ public class ChatRoomMemberServiceImpl implements ChatRoomMemberService {
         log.info("chatroomMember");
         // Validate user exists
 
-        Boolean exists = userClient.userExistWithId(chatRoomMemberDTO.getUserId()).getBody().getData();
+        boolean exists = cachedUserClient.userExistWithId(chatRoomMemberDTO.getUserId());
 
         if (!exists) {
             throw new ResourceNotFoundException("User not found with userId: " + chatRoomMemberDTO.getUserId());
@@ -60,8 +63,48 @@ public class ChatRoomMemberServiceImpl implements ChatRoomMemberService {
         return mapperUtils.map(chatRoomMember, ChatRoomMemberDTO.class);
     }
 
+    @Override
+    @Transactional
+    public List<ChatRoomMemberDTO> chatRoomMembersCreation(String chatRoomId, List<ChatRoomMemberDTO> chatRoomMemberDTOs) {
+
+        if (!chatRoomRepository.existsById(chatRoomId)) {
+            throw new ResourceNotFoundException("ChatRoom not found with id: " + chatRoomId);
+        }
+
+        // one entry per user, first one wins
+        Map<Long, ChatRoomMemberDTO> membersByUserId = new LinkedHashMap<>();
+        chatRoomMemberDTOs.forEach(dto -> membersByUserId.putIfAbsent(dto.getUserId(), dto));
+
+        // Validate all users with a single call to authService
+        Set<Long> existingUserIds = cachedUserClient.existingUserIds(membersByUserId.keySet());
+        List<Long> missingUserIds = membersByUserId.keySet().stream()
+                .filter(userId -> !existingUserIds.contains(userId))
+                .toList();
+        if (!missingUserIds.isEmpty()) {
+            throw new ResourceNotFoundException("Users not found with userIds: " + missingUserIds);
+        }
+
+        List<Long> alreadyMembers = chatRoomMemberRepository.findByChatRoomIdAndUserIdIn(chatRoomId, membersByUserId.keySet())
+                .stream()
+                .map(ChatRoomMember::getUserId)
+                .toList();
+        if (!alreadyMembers.isEmpty()) {
+            throw new RuntimeException("Users are already members of this chat room: " + alreadyMembers);
+        }
 
+        List<ChatRoomMember> chatRoomMembers = membersByUserId.values()
+                .stream()
+                .map(dto -> {
+                    dto.setChatRoomId(chatRoomId);
+                    return mapperUtils.mapWithRelations(dto, ChatRoomMember.class);
+                })
+                .toList();
 
+        return chatRoomMemberRepository.saveAll(chatRoomMembers)
+                .stream()
+                .map(element -> mapperUtils.map(element, ChatRoomMemberDTO.class))
+                .collect(Collectors.toList());
+    }
 
     @Override
     public List<ChatRoomMemberDTO> getAllChatRoomMember() {
@@ -1,6 +1,6 @@
 package com.campusConnect.chatService.service.impl;
 
-import com.campusConnect.chatService.client.UserClient;
+import com.campusConnect.chatService.client.CachedUserClient;
 import com.campusConnect.chatService.dto.MessageDTO;
 import com.campusConnect.chatService.document.ChatRoom;
 import com.campusConnect.chatService.document.Message;
@@ -25,7 +25,7 @@ public class MessageServiceImpl implements MessageService {
     private final MessageRepository messageRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final MapperUtils mapperUtils;
-    private final UserClient userClient;
+    private final CachedUserClient cachedUserClient;
 
     @Override
     public MessageDTO createMessage(MessageDTO messageDTO) {
@@ -39,7 +39,7 @@ public class MessageServiceImpl implements MessageService {
                 throw new IllegalArgumentException("ReceiverId not be null for private chatrooms");
             }
 
-            Boolean exists = userClient.userExistWithId(messageDTO.getReceiverId()).getBody().getData();
+            boolean exists = cachedUserClient.userExistWithId(messageDTO.getReceiverId());
 
             if (!exists) {
                 throw new ResourceNotFoundException("Receiver not found with id: " + messageDTO.getReceiverId());
@@ -1,6 +1,6 @@
 package com.campusConnect.chatService.service.impl;
 
-import com.campusConnect.chatService.client.UserClient;
+import com.campusConnect.chatService.client.CachedUserClient;
 import com.campusConnect.chatService.dto.NotificationDTO;
 import com.campusConnect.chatService.document.Notification;
 import com.campusConnect.chatService.exception.ResourceNotFoundException;
@@ -12,18 +12,20 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+import static com.campusConnect.chatService.auth.UserContextHolder.getCurrentUserId;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final MapperUtils mapperUtils;
-    private final UserClient userClient;
+    private final CachedUserClient cachedUserClient;
 
     @Override
     public NotificationDTO createNotification(NotificationDTO notificationDTO) {
 
-        Boolean exists = userClient.userExistWithId(notificationDTO.getUserId()).getBody().getData();
+        boolean exists = cachedUserClient.userExistWithId(notificationDTO.getUserId());
 
         if(!exists){
             throw new ResourceNotFoundException("User Not Exist with userId: "+notificationDTO.getUserId());
@@ -47,6 +49,11 @@ public class NotificationServiceImpl implements NotificationService {
         return mapperUtils.mapList(notifications, NotificationDTO.class);
     }
 
+    @Override
+    public long countUnreadNotifications() {
+        return notificationRepository.countByUserIdAndIsReadFalse(getCurrentUserId());
+    }
+
     @Override
     public NotificationDTO updateNotification(String id, NotificationDTO notificationDTO) {
         Notification notification = notificationRepository.findById(id)
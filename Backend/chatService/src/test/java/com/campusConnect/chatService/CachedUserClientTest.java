@@ -0,0 +1,72 @@
+package com.campusConnect.chatService;
+
+import com.campusConnect.chatService.advice.ApiResponse;
+import com.campusConnect.chatService.client.CachedUserClient;
+import com.campusConnect.chatService.client.UserClient;
+import com.campusConnect.chatService.client.UserIdReplica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CachedUserClientTest {
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private UserIdReplica userIdReplica;
+
+    private CachedUserClient cachedUserClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cachedUserClient = new CachedUserClient(userClient, userIdReplica, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testUserExist_ReplicaHitSkipsAuthService() {
+        when(userIdReplica.contains(1L)).thenReturn(true);
+
+        assertTrue(cachedUserClient.userExistWithId(1L));
+
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void testUserExist_OnlyPositiveAnswersAreCached() {
+        when(userClient.userExistWithId(2L)).thenReturn(ResponseEntity.ok(new ApiResponse<>(true)));
+        when(userClient.userExistWithId(3L)).thenReturn(ResponseEntity.ok(new ApiResponse<>(false)));
+
+        assertTrue(cachedUserClient.userExistWithId(2L));
+        assertTrue(cachedUserClient.userExistWithId(2L));
+        assertFalse(cachedUserClient.userExistWithId(3L));
+        assertFalse(cachedUserClient.userExistWithId(3L));
+
+        verify(userClient, times(1)).userExistWithId(2L);
+        verify(userClient, times(2)).userExistWithId(3L);
+    }
+
+    @Test
+    void testExistingUserIds_AsksAuthServiceOnlyForUnknownIds() {
+        when(userIdReplica.contains(1L)).thenReturn(true);
+        when(userClient.existingUserIds(anyCollection())).thenReturn(ResponseEntity.ok(new ApiResponse<>(List.of(2L))));
+
+        Set<Long> existing = cachedUserClient.existingUserIds(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 2L), existing);
+        verify(userClient).existingUserIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(2L, 3L))));
+        assertTrue(cachedUserClient.userExistWithId(2L));
+        verify(userClient, never()).userExistWithId(2L);
+    }
+}
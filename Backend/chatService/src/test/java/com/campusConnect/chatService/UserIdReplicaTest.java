@@ -0,0 +1,67 @@
+package com.campusConnect.chatService;
+
+import com.campusConnect.chatService.client.UserClient;
+import com.campusConnect.chatService.client.UserIdReplica;
+import com.campusConnect.chatService.dto.UserIdDeltaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdReplicaTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private UserIdReplica userIdReplica;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(userClient.userIdSnapshot()).thenReturn(ResponseEntity.ok()
+                .header("X-Snapshot-Version", "1500")
+                .body(serialize(1L, 2L)));
+        userIdReplica = new UserIdReplica(userClient, 60000);
+        userIdReplica.refreshSnapshot();
+    }
+
+    @Test
+    void testPollDelta_StartsFromSnapshotVersionWithOverlap() {
+        when(userClient.userIdChangesAfter(500L)).thenReturn(new UserIdDeltaDTO(1501L, List.of(2L, 3L)));
+
+        userIdReplica.pollDelta();
+
+        assertTrue(userIdReplica.contains(3L));
+        verify(userClient).userIdChangesAfter(500L);
+    }
+
+    @Test
+    void testPollDelta_PicksUpCommitBelowCursor() {
+        when(userClient.userIdChangesAfter(500L)).thenReturn(new UserIdDeltaDTO(1501L, List.of(3L)));
+        userIdReplica.pollDelta();
+        // version 1499 committed after 1501 was already served
+        when(userClient.userIdChangesAfter(501L)).thenReturn(new UserIdDeltaDTO(1501L, List.of(4L, 3L)));
+
+        userIdReplica.pollDelta();
+
+        assertTrue(userIdReplica.contains(4L));
+        assertTrue(userIdReplica.contains(1L));
+    }
+
+    private static byte[] serialize(long... ids) throws IOException {
+        Roaring64NavigableMap bitmap = Roaring64NavigableMap.bitmapOf(ids);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.serialize(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}
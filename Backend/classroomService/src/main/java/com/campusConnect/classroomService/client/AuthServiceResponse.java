@@ -0,0 +1,7 @@
+package com.campusConnect.classroomService.client;
+
+/**
+ * authService's response envelope ({timeStamp, data, error}); only the payload is read here.
+ */
+record AuthServiceResponse<T>(T data) {
+}
@@ -1,25 +1,99 @@
 package com.campusConnect.classroomService.client;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
+    // authService's context path; these endpoints answer inside its ApiResponse envelope
+    static final String AUTH_SERVICE_URL = "lb://authService/campusConnect/auth";
+
     private final WebClient.Builder webClientBuilder;
+    private final UserIdReplica userIdReplica;
+
+    // ids authService has confirmed; negative answers are never cached
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             UserIdReplica userIdReplica,
+                             @Value("${userCache.maxSize:50000}") long maxSize,
+                             @Value("${userCache.ttl:10m}") Duration ttl) {
+        this.webClientBuilder = webClientBuilder;
+        this.userIdReplica = userIdReplica;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
 
     public Mono<Boolean> userExistsWithId(Long userId) {
+        if (userIdReplica.contains(userId) || knownUsers.getIfPresent(userId) != null) {
+            return Mono.just(true);
+        }
         return webClientBuilder.build()
                 .get()
-                .uri("lb://authService/campusConnect/users/{userId}", userId)
+                .uri(AUTH_SERVICE_URL + "/user/{userId}", userId)
                 .retrieve()
-                .bodyToMono(Boolean.class)
+                .bodyToMono(new ParameterizedTypeReference<AuthServiceResponse<Boolean>>() {
+                })
+                .mapNotNull(AuthServiceResponse::data)
+                .defaultIfEmpty(false)
+                .doOnNext(exists -> {
+                    if (Boolean.TRUE.equals(exists)) {
+                        knownUsers.put(userId, Boolean.TRUE);
+                    }
+                })
                 .doOnError(error -> log.error("Error calling authService for user {}: {}", userId, error.getMessage()))
                 .onErrorResume(error -> Mono.just(false)); // Fallback to false
     }
+
+    /**
+     * Resolves which of the given ids exist with at most one call to authService.
+     */
+    public Mono<Set<Long>> existingUserIds(Collection<Long> userIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long userId : new HashSet<>(userIds)) {
+            if (userIdReplica.contains(userId) || knownUsers.getIfPresent(userId) != null) {
+                existing.add(userId);
+            } else {
+                unknown.add(userId);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return Mono.just(existing);
+        }
+
+        return webClientBuilder.build()
+                .post()
+                .uri(AUTH_SERVICE_URL + "/user/exists")
+                .bodyValue(unknown)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<AuthServiceResponse<List<Long>>>() {
+                })
+                .mapNotNull(AuthServiceResponse::data)
+                .defaultIfEmpty(List.of())
+                .map(found -> {
+                    found.forEach(userId -> knownUsers.put(userId, Boolean.TRUE));
+                    existing.addAll(found);
+                    return existing;
+                })
+                .doOnError(error -> log.error("Error calling authService for {} users: {}", unknown.size(), error.getMessage()))
+                .onErrorResume(error -> Mono.just(existing)); // Fallback to cached ids only
+    }
 }
@@ -1,16 +1,25 @@
 package com.campusConnect.classroomService.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     @Bean
     @LoadBalanced
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(@Value("${internal.serviceToken}") String serviceToken) {
+        // authService answers its /user endpoints only to callers presenting the shared service token;
+        // this filter runs before the load balancer resolves lb://authService, so the host is still the service id
+        return WebClient.builder()
+                .filter((request, next) -> next.exchange("authService".equalsIgnoreCase(request.url().getHost())
+                        ? ClientRequest.from(request).header(SERVICE_TOKEN_HEADER, serviceToken).build()
+                        : request));
     }
 }
@@ -229,6 +229,20 @@ public class AssignmentController {
         }
     }
 
+    // Get assignments due this week in a student's classrooms
+    @GetMapping("/due/this-week/student/{studentId}")
+    public ResponseEntity<List<AssignmentDTO>> getAssignmentsDueThisWeekForStudent(@PathVariable Long studentId) {
+        log.info("Request to get assignments due this week for student: {}", studentId);
+
+        try {
+            List<AssignmentDTO> assignments = assignmentService.getAssignmentsDueThisWeekForStudent(studentId);
+            return new ResponseEntity<>(assignments, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Error fetching assignments due this week for student: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Get overdue assignments
     @GetMapping("/overdue")
     public ResponseEntity<List<AssignmentDTO>> getOverdueAssignments() {
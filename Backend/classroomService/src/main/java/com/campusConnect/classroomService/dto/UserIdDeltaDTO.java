@@ -0,0 +1,16 @@
+package com.campusConnect.classroomService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// authService's user id change log page: ids added after the requested version, up to version
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIdDeltaDTO {
+    private Long version;
+    private List<Long> userIds;
+}
@@ -42,6 +42,13 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findAssignmentsDueThisWeek(@Param("startOfWeek") LocalDateTime startOfWeek,
                                                 @Param("endOfWeek") LocalDateTime endOfWeek);
 
+    // Find assignments due this week in the classrooms a student has attendance in
+    @Query("SELECT a FROM Assignment a WHERE a.deadline >= :startOfWeek AND a.deadline <= :endOfWeek " +
+            "AND a.classroom.id IN (SELECT att.classroom.id FROM Attendance att WHERE att.studentId = :studentId)")
+    List<Assignment> findAssignmentsDueThisWeekForStudent(@Param("studentId") Long studentId,
+                                                          @Param("startOfWeek") LocalDateTime startOfWeek,
+                                                          @Param("endOfWeek") LocalDateTime endOfWeek);
+
     // Find overdue assignments
     @Query("SELECT a FROM Assignment a WHERE a.deadline < :currentTime")
     List<Assignment> findOverdueAssignments(@Param("currentTime") LocalDateTime currentTime);
@@ -24,6 +24,7 @@ public interface AssignmentService {
     List<AssignmentDTO> getAssignmentsByClassroomAndDeadlineAfter(Long classroomId, LocalDateTime deadline);
     List<AssignmentDTO> getAssignmentsDueToday();
     List<AssignmentDTO> getAssignmentsDueThisWeek();
+    List<AssignmentDTO> getAssignmentsDueThisWeekForStudent(Long studentId);
     List<AssignmentDTO> getOverdueAssignments();
     List<AssignmentDTO> getAssignmentsDueWithinHours(int hours);
     List<AssignmentDTO> getAssignmentsByTeacher(Long teacherId);
@@ -207,6 +207,21 @@ public class AssignmentServiceImpl implements AssignmentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AssignmentDTO> getAssignmentsDueThisWeekForStudent(Long studentId) {
+        log.info("Fetching assignments due this week for student: {}", studentId);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfWeek = now.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime endOfWeek = startOfWeek.plusDays(7);
+
+        List<Assignment> assignments = assignmentRepository.findAssignmentsDueThisWeekForStudent(studentId, startOfWeek, endOfWeek);
+        return assignments.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AssignmentDTO> getOverdueAssignments() {
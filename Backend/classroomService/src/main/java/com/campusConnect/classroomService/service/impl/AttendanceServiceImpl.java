@@ -1,5 +1,6 @@
 package com.campusConnect.classroomService.service.impl;
 
+import com.campusConnect.classroomService.client.UserServiceClient;
 import com.campusConnect.classroomService.dto.AttendanceDTO;
 import com.campusConnect.classroomService.entity.Attendance;
 import com.campusConnect.classroomService.entity.Classroom;
@@ -29,6 +30,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final ClassroomRepository classroomRepository;
     private final ModelMapper modelMapper;
+    private final UserServiceClient userServiceClient;
 
     @Override
     public AttendanceDTO markAttendance(AttendanceDTO attendanceDTO) {
@@ -50,6 +52,11 @@ public class AttendanceServiceImpl implements AttendanceService {
         Classroom classroom = classroomRepository.findById(attendanceDTO.getClassroomId())
                 .orElseThrow(() -> new RuntimeException("Classroom not found with ID: " + attendanceDTO.getClassroomId()));
 
+        // Verify student exists
+        if (!Boolean.TRUE.equals(userServiceClient.userExistsWithId(attendanceDTO.getStudentId()).block())) {
+            throw new RuntimeException("Student not found with ID: " + attendanceDTO.getStudentId());
+        }
+
         Attendance attendance = modelMapper.map(attendanceDTO, Attendance.class);
         attendance.setClassroom(classroom);
         attendance.setCreatedAt(LocalDateTime.now());
@@ -317,6 +324,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     public List<AttendanceDTO> markBulkAttendance(List<AttendanceDTO> attendanceList) {
         log.info("Marking bulk attendance for {} records", attendanceList.size());
+        resolveStudents(attendanceList.stream().map(AttendanceDTO::getStudentId).toList());
 
         List<AttendanceDTO> result = new ArrayList<>();
         for (AttendanceDTO attendanceDTO : attendanceList) {
@@ -336,6 +344,10 @@ public class AttendanceServiceImpl implements AttendanceService {
                                                    List<Long> presentStudentIds, List<Long> absentStudentIds,
                                                    List<Long> excusedStudentIds, Long markedBy) {
         log.info("Marking class attendance for classroom: {} on date: {}", classroomId, date);
+        List<Long> studentIds = new ArrayList<>(presentStudentIds);
+        studentIds.addAll(absentStudentIds);
+        studentIds.addAll(excusedStudentIds);
+        resolveStudents(studentIds);
 
         List<AttendanceDTO> result = new ArrayList<>();
 
@@ -413,6 +425,11 @@ public class AttendanceServiceImpl implements AttendanceService {
         return markAttendance(attendanceDTO);
     }
 
+    // one batch existence call for the whole list; the per-record checks in markAttendance then hit the client's cache
+    private void resolveStudents(List<Long> studentIds) {
+        userServiceClient.existingUserIds(studentIds).block();
+    }
+
     private AttendanceDTO mapToDTO(Attendance attendance) {
         AttendanceDTO dto = modelMapper.map(attendance, AttendanceDTO.class);
         if (attendance.getClassroom() != null) {
@@ -0,0 +1,100 @@
+package com.campusConnect.classroomService;
+
+import com.campusConnect.classroomService.client.UserIdReplica;
+import com.campusConnect.classroomService.client.UserServiceClient;
+import com.campusConnect.classroomService.config.WebClientConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class UserServiceClientTest {
+
+    @Mock
+    private UserIdReplica userIdReplica;
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private HttpStatus status;
+    private String body;
+    private UserServiceClient userServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        status = HttpStatus.OK;
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        userServiceClient = new UserServiceClient(builder, userIdReplica, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testUserExists_CallsAuthServiceUserEndpointAndCachesHit() {
+        body = "{\"timeStamp\":\"2025-01-01T00:00:00\",\"data\":true,\"error\":null}";
+
+        assertTrue(userServiceClient.userExistsWithId(42L).block());
+        assertTrue(userServiceClient.userExistsWithId(42L).block());
+
+        assertEquals(1, requests.size());
+        assertEquals("lb://authService/campusConnect/auth/user/42", requests.get(0).url().toString());
+    }
+
+    @Test
+    void testExistingUserIds_UnwrapsEnvelopeAndSkipsReplicaHits() {
+        when(userIdReplica.contains(1L)).thenReturn(true);
+        body = "{\"timeStamp\":\"2025-01-01T00:00:00\",\"data\":[2],\"error\":null}";
+
+        Set<Long> existing = userServiceClient.existingUserIds(List.of(1L, 2L, 3L)).block();
+
+        assertEquals(Set.of(1L, 2L), existing);
+        assertEquals(1, requests.size());
+        assertEquals("lb://authService/campusConnect/auth/user/exists", requests.get(0).url().toString());
+    }
+
+    @Test
+    void testAuthServiceError_FallsBackWithoutCaching() {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        body = "{}";
+
+        assertFalse(userServiceClient.userExistsWithId(7L).block());
+        assertEquals(Set.of(), userServiceClient.existingUserIds(List.of(7L)).block());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testAuthServiceCalls_CarryServiceToken() {
+        body = "{\"timeStamp\":\"2025-01-01T00:00:00\",\"data\":true,\"error\":null}";
+        WebClient.Builder builder = new WebClientConfig().webClientBuilder("s3cret").exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+
+        new UserServiceClient(builder, userIdReplica, 100, Duration.ofMinutes(1)).userExistsWithId(42L).block();
+        builder.build().get().uri("lb://chatService/campusConnect/chat/rooms").retrieve().toBodilessEntity().block();
+
+        assertEquals("s3cret", requests.get(0).headers().getFirst("X-Service-Token"));
+        assertNull(requests.get(1).headers().getFirst("X-Service-Token"));
+    }
+}
@@ -48,6 +48,11 @@ public class GamificationController {
         return ResponseEntity.ok(leaderboard);
     }
 
+    @GetMapping("/leaderboard/user/{userId}")
+    public ResponseEntity<LeaderBoardDTO> getLeaderboardEntry(@PathVariable Long userId) {
+        return ResponseEntity.ok(gamificationService.getLeaderboardEntry(userId));
+    }
+
     @PostMapping("/leaderboard/update")
     public ResponseEntity<String> updateLeaderboard() {
         gamificationService.updateLeaderboard();
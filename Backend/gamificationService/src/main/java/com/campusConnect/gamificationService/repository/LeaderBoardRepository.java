@@ -6,9 +6,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaderBoardRepository extends JpaRepository<LeaderBoard, Long> {
     @Query("SELECT l FROM LeaderBoard l ORDER BY l.points DESC")
     List<LeaderBoard> findAllOrderByPointsDesc();
+
+    Optional<LeaderBoard> findFirstByUserId(Long userId);
 }
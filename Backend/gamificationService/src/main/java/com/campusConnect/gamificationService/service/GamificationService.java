@@ -13,5 +13,6 @@ public interface GamificationService {
 
     // Leaderboard operations
     List<LeaderBoardDTO> getLeaderboard();
+    LeaderBoardDTO getLeaderboardEntry(Long userId);
     void updateLeaderboard();
 }
@@ -60,6 +60,15 @@ public class GamificationServiceImpl implements GamificationService {
                 .collect(Collectors.toList());
     }
 
+    // a user not ranked yet gets a null rank and their live point total
+    @Override
+    @Transactional(readOnly = true)
+    public LeaderBoardDTO getLeaderboardEntry(Long userId) {
+        return leaderBoardRepository.findFirstByUserId(userId)
+                .map(l -> modelMapper.map(l, LeaderBoardDTO.class))
+                .orElseGet(() -> new LeaderBoardDTO(null, userId, null, getTotalPoints(userId).intValue()));
+    }
+
     @Override
     public void updateLeaderboard() {
         // Clear existing leaderboard